@@ -3,9 +3,11 @@ package com.flipkart.ecommerce_backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.web.config.EnableSpringDataWebSupport; // Import
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableSpringDataWebSupport // Enable Spring Data Web Support
+@EnableScheduling
 public class EcommerceBackendApplication {
 
   public static void main(String[] args) {
@@ -0,0 +1,80 @@
+package com.flipkart.ecommerce_backend.cache;
+
+import com.flipkart.ecommerce_backend.dtos.ProductDto;
+import com.flipkart.ecommerce_backend.events.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded, TTL-evicting cache of product detail DTOs keyed by product id. Entries are immutable
+ * {@link ProductDto} records, so they can be handed out to concurrent readers as-is.
+ *
+ * <p>Entries are dropped when a {@link ProductChangedEvent} is committed. Loads go through {@link
+ * #get(UUID, Function)}, which computes atomically per key: an invalidation that races with an
+ * in-flight load waits for it and then removes the (possibly stale) result.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductDetailCache {
+
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.cache.product.max-size}")
+  private long maxSize;
+
+  @Value("${app.cache.product.ttl-ms}")
+  private long ttlMs;
+
+  private Cache<UUID, ProductDto> cache;
+
+  @PostConstruct
+  public void init() {
+    cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .recordStats()
+            .build();
+    // Exposes cache.gets{result=hit|miss}, cache.evictions and cache.size via /actuator/metrics
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "productDetail");
+  }
+
+  public ProductDto get(UUID productId, Function<UUID, ProductDto> loader) {
+    return cache.get(productId, loader);
+  }
+
+  public Optional<ProductDto> getIfPresent(UUID productId) {
+    return Optional.ofNullable(cache.getIfPresent(productId));
+  }
+
+  /** Returns the cached entries among {@code productIds}, without loading the others. */
+  public Map<UUID, ProductDto> getAllPresent(Collection<UUID> productIds) {
+    return cache.getAllPresent(productIds);
+  }
+
+  public void invalidate(UUID productId) {
+    cache.invalidate(productId);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onProductChanged(ProductChangedEvent event) {
+    log.debug("Evicting cached product detail for ID: {}", event.productId());
+    invalidate(event.productId());
+  }
+}
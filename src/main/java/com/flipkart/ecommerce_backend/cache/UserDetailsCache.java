@@ -0,0 +1,123 @@
+package com.flipkart.ecommerce_backend.cache;
+
+import com.flipkart.ecommerce_backend.events.UserChangedEvent;
+import com.flipkart.ecommerce_backend.models.LocalUser;
+import com.flipkart.ecommerce_backend.security.principal.JwtPrincipalFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded, TTL-evicting cache of detached {@link LocalUser} entities (with their roles) for {@code
+ * loadUserByUsername}. Each user is stored under both its normalized username and its normalized
+ * email, so either login form hits. Cached users are shared between requests and must be treated as
+ * read-only; writes go through a freshly loaded entity.
+ *
+ * <p>Entries are dropped when a {@link UserChangedEvent} is committed. Since users are not keyed by
+ * id, invalidation scans the (bounded) cache; it is rare compared to reads. A load that overlaps an
+ * invalidation is discarded rather than cached, so a stale user can't outlive the change.
+ *
+ * <p>The cache is local to the instance and those events are too, so a hit is only served if the
+ * user's security version and enabled / locked flags still match the state checked by {@link
+ * JwtPrincipalFactory} (at most {@code app.jwt.user-state.ttl-ms} old); otherwise the user is
+ * reloaded. Password changes, resets and disabling all bump the version, so another instance stops
+ * accepting the old password or a disabled account within that window, not the cache TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCache {
+
+  private final MeterRegistry meterRegistry;
+  private final JwtPrincipalFactory jwtPrincipalFactory;
+
+  @Value("${app.cache.user.max-size}")
+  private long maxSize;
+
+  @Value("${app.cache.user.ttl-ms}")
+  private long ttlMs;
+
+  private Cache<String, LocalUser> cache;
+
+  // Bumped by every invalidation; loads compare it before and after to detect a race
+  private final AtomicLong generation = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+  }
+
+  /**
+   * Returns the cached user for {@code usernameOrEmail}, or loads it with {@code loader}. The
+   * loader's exceptions (e.g. user not found) propagate and nothing is cached.
+   */
+  public LocalUser get(String usernameOrEmail, Function<String, LocalUser> loader) {
+    String key = normalize(usernameOrEmail);
+    LocalUser cached = cache.getIfPresent(key);
+    if (cached != null) {
+      if (isCurrent(cached)) {
+        return cached;
+      }
+      log.debug("Cached user details for user ID {} are stale, reloading", cached.getId());
+      invalidate(cached.getId());
+    }
+    long loadGeneration = generation.get();
+    LocalUser user = loader.apply(usernameOrEmail);
+    String usernameKey = normalize(user.getUsername());
+    String emailKey = normalize(user.getEmail());
+    cache.put(usernameKey, user);
+    cache.put(emailKey, user);
+    if (generation.get() != loadGeneration) {
+      // An invalidation ran while loading; the user may predate it
+      cache.invalidate(usernameKey);
+      cache.invalidate(emailKey);
+    }
+    return user;
+  }
+
+  private boolean isCurrent(LocalUser user) {
+    return jwtPrincipalFactory
+        .securityState(user.getId())
+        .filter(
+            state ->
+                state.securityVersion() == user.getSecurityVersion()
+                    && state.enabled() == user.isEnabled()
+                    && state.accountNonLocked() == user.isAccountNonLocked())
+        .isPresent();
+  }
+
+  public void invalidate(UUID userId) {
+    generation.incrementAndGet();
+    cache.asMap().values().removeIf(user -> userId.equals(user.getId()));
+  }
+
+  // Password changes do not always run in a transaction, hence the fallback
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onUserChanged(UserChangedEvent event) {
+    log.debug("Evicting cached user details for user ID: {}", event.userId());
+    invalidate(event.userId());
+  }
+
+  private static String normalize(String usernameOrEmail) {
+    return usernameOrEmail.trim().toLowerCase(Locale.ROOT);
+  }
+}
@@ -9,4 +9,6 @@ public class AppConstants {
   public static final String SORT_BY = "id";
 
   public static final String SORT_DIR = "ASC";
+
+  public static final int MAX_PAGE_SIZE = 100;
 }
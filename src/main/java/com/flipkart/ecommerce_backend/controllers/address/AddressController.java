@@ -2,7 +2,7 @@ package com.flipkart.ecommerce_backend.controllers.address;
 
 import com.flipkart.ecommerce_backend.dtos.AddressDTO;
 import com.flipkart.ecommerce_backend.dtos.AddressRequestDTO;
-import com.flipkart.ecommerce_backend.models.LocalUser;
+import com.flipkart.ecommerce_backend.security.principal.AuthenticatedUser;
 import com.flipkart.ecommerce_backend.services.AddressService;
 import jakarta.validation.Valid;
 import java.util.UUID;
@@ -42,7 +42,7 @@ public class AddressController {
     if (userDetails == null) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
-    UUID userId = ((LocalUser) userDetails).getId();
+    UUID userId = ((AuthenticatedUser) userDetails).getId();
     log.info("Request received to get addresses for user ID: {}", userId);
 
     Page<AddressDTO> addressesPage = addressService.getAddressesForUser(userId, pageable);
@@ -64,7 +64,7 @@ public class AddressController {
     if (userDetails == null) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
-    UUID userId = ((LocalUser) userDetails).getId();
+    UUID userId = ((AuthenticatedUser) userDetails).getId();
     log.info("Request received to add address for user ID: {}", userId);
 
     AddressDTO savedAddress = addressService.addAddressForUser(userId, addressRequestDTO);
@@ -1,13 +1,23 @@
 package com.flipkart.ecommerce_backend.controllers.order;
 
 import com.flipkart.ecommerce_backend.constants.AppConstants;
-import com.flipkart.ecommerce_backend.models.LocalUser;
-import com.flipkart.ecommerce_backend.models.WebOrder;
+import com.flipkart.ecommerce_backend.dtos.OrderDto;
+import com.flipkart.ecommerce_backend.dtos.PlaceOrderRequest;
+import com.flipkart.ecommerce_backend.idempotency.IdempotencyStore;
+import com.flipkart.ecommerce_backend.security.principal.AuthenticatedUser;
+import com.flipkart.ecommerce_backend.services.CheckoutService;
 import com.flipkart.ecommerce_backend.services.impl.OrderService;
+import jakarta.validation.Valid;
 import java.util.List;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,9 +28,13 @@ public class OrderController {
 
   @Autowired private OrderService orderService;
 
+  @Autowired private CheckoutService checkoutService;
+
+  @Autowired private IdempotencyStore idempotencyStore;
+
   @GetMapping
-  public List<WebOrder> getOrders(
-      @AuthenticationPrincipal LocalUser authenticationPrinciple,
+  public List<OrderDto> getOrders(
+      @AuthenticationPrincipal AuthenticatedUser authenticationPrinciple,
       @RequestParam(value = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false)
           int pageNumber,
       @RequestParam(value = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false)
@@ -28,6 +42,23 @@ public class OrderController {
       @RequestParam(value = "sort", defaultValue = "id", required = false) String sortBy,
       @RequestParam(value = "sort_dir", defaultValue = AppConstants.SORT_DIR, required = false)
           String sortDir) {
-    return orderService.getOrders(authenticationPrinciple, pageNumber, pageSize, sortBy);
+    return orderService.getOrders(
+        authenticationPrinciple.getId(), pageNumber, pageSize, sortBy, sortDir);
+  }
+
+  @PostMapping
+  public ResponseEntity<OrderDto> placeOrder(
+      @AuthenticationPrincipal AuthenticatedUser authenticationPrinciple,
+      @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+      @Valid @RequestBody PlaceOrderRequest placeOrderRequest) {
+    UUID userId = authenticationPrinciple.getId();
+    // A retried submission with the same key gets the first order back instead of a new one
+    OrderDto order =
+        idempotencyStore.execute(
+            userId,
+            idempotencyKey,
+            placeOrderRequest,
+            () -> checkoutService.placeOrder(userId, placeOrderRequest));
+    return ResponseEntity.status(HttpStatus.CREATED).body(order);
   }
 }
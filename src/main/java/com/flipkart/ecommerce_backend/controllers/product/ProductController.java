@@ -1,23 +1,40 @@
 package com.flipkart.ecommerce_backend.controllers.product;
 
+import com.flipkart.ecommerce_backend.constants.AppConstants;
 import com.flipkart.ecommerce_backend.dtos.GenericResponseBodyDto;
+import com.flipkart.ecommerce_backend.dtos.ProductBatchRequest;
 import com.flipkart.ecommerce_backend.dtos.ProductCreateDto;
+import com.flipkart.ecommerce_backend.dtos.ProductCursorPage;
 import com.flipkart.ecommerce_backend.dtos.ProductDto;
+import com.flipkart.ecommerce_backend.dtos.ProductImportFormat;
+import com.flipkart.ecommerce_backend.dtos.ProductImportResult;
+import com.flipkart.ecommerce_backend.dtos.ProductListingDto;
+import com.flipkart.ecommerce_backend.dtos.ProductQueryRequest;
+import com.flipkart.ecommerce_backend.dtos.ProductQueryResult;
 import com.flipkart.ecommerce_backend.dtos.ProductUpdateDto;
+import com.flipkart.ecommerce_backend.exception.product.ProductException;
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
 import com.flipkart.ecommerce_backend.models.ProductStatus;
+import com.flipkart.ecommerce_backend.services.ProductFacetService;
+import com.flipkart.ecommerce_backend.services.ProductImportService;
 import com.flipkart.ecommerce_backend.services.ProductService;
 import com.flipkart.ecommerce_backend.utils.ResponseUtil;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -26,6 +43,8 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
   private final ProductService productService;
+  private final ProductFacetService productFacetService;
+  private final ProductImportService productImportService;
 
   @PostMapping()
   @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
@@ -37,6 +56,32 @@ public class ProductController {
     return ResponseEntity.status(HttpStatus.CREATED).body(response);
   }
 
+  /** Bulk import from a streamed CSV (with header line) or NDJSON request body. */
+  @PostMapping(
+      value = "/import",
+      consumes = {"text/csv", "application/x-ndjson"})
+  @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
+  public ResponseEntity<GenericResponseBodyDto> importProducts(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+    ProductImportFormat format =
+        ProductImportFormat.fromContentType(contentType)
+            .orElseThrow(
+                () -> new ProductException(ErrorCode.BAD_REQUEST, "Unsupported import format"));
+    ProductImportResult result = productImportService.importProducts(body, format);
+    GenericResponseBodyDto response =
+        ResponseUtil.success("Product import completed", Map.of("result", result));
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping(value = "/export", produces = "application/x-ndjson")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<StreamingResponseBody> exportProducts() {
+    StreamingResponseBody body = productService::exportProducts;
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+        .body(body);
+  }
+
   @GetMapping("/{id}")
   @PreAuthorize("permitAll()")
   public ResponseEntity<GenericResponseBodyDto> getProduct(@PathVariable UUID id) {
@@ -46,6 +91,16 @@ public class ProductController {
     return ResponseEntity.status(HttpStatus.OK).body(response);
   }
 
+  @PostMapping("/batch")
+  @PreAuthorize("permitAll()")
+  public ResponseEntity<GenericResponseBodyDto> getProductsByIds(
+      @Valid @RequestBody ProductBatchRequest request) {
+    List<ProductDto> products = productService.getProductsByIds(request.ids());
+    GenericResponseBodyDto response =
+        ResponseUtil.success("Products fetched successfully", Map.of("products", products));
+    return ResponseEntity.ok(response);
+  }
+
   @DeleteMapping("/{id}")
   @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
   public ResponseEntity<Void> deleteProduct(@PathVariable UUID id) {
@@ -71,10 +126,13 @@ public class ProductController {
   @PreAuthorize("permitAll()")
   public ResponseEntity<GenericResponseBodyDto> getProductsByCategory(
       @PathVariable String category, Pageable pageable) {
-    Page<ProductDto> products = productService.getProductsByCategory(category, pageable);
+    Page<ProductListingDto> products = productService.getProductsByCategory(category, pageable);
+    Map<String, Long> brands = productFacetService.countByBrandInCategory(category);
 
     GenericResponseBodyDto response =
-        ResponseUtil.success("Products fetched successfully", Map.of("products", products));
+        ResponseUtil.success(
+            "Products fetched successfully",
+            Map.of("products", products, "facets", Map.of("brands", brands)));
     return ResponseEntity.ok(response);
   }
 
@@ -82,10 +140,13 @@ public class ProductController {
   @PreAuthorize("permitAll()")
   public ResponseEntity<GenericResponseBodyDto> getProductsByBrand(
       @PathVariable String brand, Pageable pageable) {
-    Page<ProductDto> products = productService.getProductsByBrand(brand, pageable);
+    Page<ProductListingDto> products = productService.getProductsByBrand(brand, pageable);
+    Map<String, Long> categories = productFacetService.countByCategoryForBrand(brand);
 
     GenericResponseBodyDto response =
-        ResponseUtil.success("Products fetched successfully", Map.of("products", products));
+        ResponseUtil.success(
+            "Products fetched successfully",
+            Map.of("products", products, "facets", Map.of("categories", categories)));
     return ResponseEntity.ok(response);
   }
 
@@ -93,7 +154,7 @@ public class ProductController {
   @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
   public ResponseEntity<GenericResponseBodyDto> getProductsByStatus(
       @PathVariable ProductStatus status, Pageable pageable) {
-    Page<ProductDto> products = productService.getProductsByStatus(status, pageable);
+    Page<ProductListingDto> products = productService.getProductsByStatus(status, pageable);
     GenericResponseBodyDto response =
         ResponseUtil.success("Products fetched successfully", Map.of("products", products));
     return ResponseEntity.ok(response);
@@ -103,7 +164,7 @@ public class ProductController {
   @PreAuthorize("permitAll()")
   public ResponseEntity<GenericResponseBodyDto> getProductsByPriceRange(
       @PathVariable Double min, @PathVariable Double max, Pageable pageable) {
-    Page<ProductDto> products = productService.getProductsByPriceRange(min, max, pageable);
+    Page<ProductListingDto> products = productService.getProductsByPriceRange(min, max, pageable);
     GenericResponseBodyDto response =
         ResponseUtil.success("Products fetched successfully", Map.of("products", products));
     return ResponseEntity.ok(response);
@@ -163,7 +224,64 @@ public class ProductController {
     GenericResponseBodyDto response =
         ResponseUtil.success(
             "Products fetched successfully",
-            Map.of("products", productService.getProducts(pageable)));
+            Map.of(
+                "products",
+                productService.getProducts(pageable),
+                "facets",
+                Map.of(
+                    "brands",
+                    productFacetService.countByBrand(),
+                    "categories",
+                    productFacetService.countByCategory())));
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/seek")
+  @PreAuthorize("permitAll()")
+  public ResponseEntity<GenericResponseBodyDto> getProductsAfter(
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", defaultValue = AppConstants.PAGE_SIZE) int size) {
+    ProductCursorPage products = productService.getProductsAfter(cursor, size);
+    GenericResponseBodyDto response =
+        ResponseUtil.success("Products fetched successfully", Map.of("products", products));
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/category/{category}/seek")
+  @PreAuthorize("permitAll()")
+  public ResponseEntity<GenericResponseBodyDto> getProductsByCategoryAfter(
+      @PathVariable String category,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", defaultValue = AppConstants.PAGE_SIZE) int size) {
+    ProductCursorPage products = productService.getProductsByCategoryAfter(category, cursor, size);
+    GenericResponseBodyDto response =
+        ResponseUtil.success("Products fetched successfully", Map.of("products", products));
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/brand/{brand}/seek")
+  @PreAuthorize("permitAll()")
+  public ResponseEntity<GenericResponseBodyDto> getProductsByBrandAfter(
+      @PathVariable String brand,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", defaultValue = AppConstants.PAGE_SIZE) int size) {
+    ProductCursorPage products = productService.getProductsByBrandAfter(brand, cursor, size);
+    GenericResponseBodyDto response =
+        ResponseUtil.success("Products fetched successfully", Map.of("products", products));
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/price/{min}/{max}/seek")
+  @PreAuthorize("permitAll()")
+  public ResponseEntity<GenericResponseBodyDto> getProductsByPriceRangeAfter(
+      @PathVariable Double min,
+      @PathVariable Double max,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", defaultValue = AppConstants.PAGE_SIZE) int size) {
+    ProductCursorPage products =
+        productService.getProductsByPriceRangeAfter(min, max, cursor, size);
+    GenericResponseBodyDto response =
+        ResponseUtil.success("Products fetched successfully", Map.of("products", products));
     return ResponseEntity.ok(response);
   }
 
@@ -177,4 +295,25 @@ public class ProductController {
             Map.of("products", productService.getProductsByKeyword(keyword, pageable)));
     return ResponseEntity.ok(response);
   }
+
+  @PostMapping("/facets/rebuild")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<GenericResponseBodyDto> rebuildFacetCounts() {
+    int counters = productFacetService.rebuild();
+    GenericResponseBodyDto response =
+        ResponseUtil.success("Facet counts rebuilt successfully", Map.of("counters", counters));
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/query")
+  @PreAuthorize("permitAll()")
+  public ResponseEntity<GenericResponseBodyDto> queryProducts(
+      @Valid ProductQueryRequest filter, Pageable pageable) {
+    ProductQueryResult result = productService.queryProducts(filter, pageable);
+    GenericResponseBodyDto response =
+        ResponseUtil.success(
+            "Products fetched successfully",
+            Map.of("products", result.products(), "facets", result.facets()));
+    return ResponseEntity.ok(response);
+  }
 }
@@ -0,0 +1,3 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+public record FacetValueCount(String value, Long count) {}
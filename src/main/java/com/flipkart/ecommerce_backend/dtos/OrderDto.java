@@ -0,0 +1,47 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import com.flipkart.ecommerce_backend.models.OrderStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Order history entry: the order, its delivery address and its line items. Built from two
+ * projection queries (orders with their address, then the items of that page of orders), never from
+ * the entities.
+ */
+public record OrderDto(
+    Long id,
+    OrderStatus status,
+    BigDecimal total,
+    Instant orderDate,
+    AddressDTO address,
+    List<OrderItemDto> items) {
+
+  /** Projection constructor for the order query; the items are attached afterwards. */
+  public OrderDto(
+      Long id,
+      OrderStatus status,
+      BigDecimal total,
+      Instant orderDate,
+      UUID addressId,
+      String addressLine1,
+      String addressLine2,
+      String city,
+      String state,
+      String country,
+      String postalCode) {
+    this(
+        id,
+        status,
+        total,
+        orderDate,
+        new AddressDTO(addressId, addressLine1, addressLine2, city, state, country, postalCode),
+        List.of());
+  }
+
+  public OrderDto withItems(List<OrderItemDto> items) {
+    return new OrderDto(id, status, total, orderDate, address, items);
+  }
+}
@@ -0,0 +1,20 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Order line with a summary of its product (card fields only, no descriptions). {@code unitPrice}
+ * is the price charged, or the current product price for lines that predate checkout. {@code
+ * orderId} is only used to group the lines of a page of orders and is not serialized.
+ */
+public record OrderItemDto(
+    @JsonIgnore Long orderId,
+    Long id,
+    UUID productId,
+    UUID variantId,
+    String productName,
+    String productImageUrl,
+    BigDecimal unitPrice,
+    Integer quantity) {}
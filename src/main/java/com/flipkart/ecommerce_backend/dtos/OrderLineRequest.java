@@ -0,0 +1,13 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+
+public record OrderLineRequest(
+    @NotNull(message = "Variant id is required") UUID variantId,
+    @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        @Max(value = 1000, message = "Quantity cannot exceed 1000")
+        Integer quantity) {}
@@ -0,0 +1,14 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+public record PlaceOrderRequest(
+    @NotNull(message = "Delivery address is required") UUID addressId,
+    @NotEmpty(message = "An order needs at least one line")
+        @Size(max = 50, message = "At most 50 lines per order")
+        List<@NotNull @Valid OrderLineRequest> items) {}
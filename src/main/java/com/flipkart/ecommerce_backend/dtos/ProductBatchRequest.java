@@ -0,0 +1,15 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import com.flipkart.ecommerce_backend.constants.AppConstants;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+public record ProductBatchRequest(
+    @NotEmpty(message = "At least one product id is required")
+        @Size(
+            max = AppConstants.MAX_PAGE_SIZE,
+            message = "At most " + AppConstants.MAX_PAGE_SIZE + " product ids per request")
+        List<@NotNull UUID> ids) {}
@@ -0,0 +1,44 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the catalog's keyset order {@code (createdAt, id)}. Clients only ever see the opaque
+ * {@link #encode() encoded} form and hand it back unchanged to fetch the next slice.
+ */
+public record ProductCursor(Instant createdAt, UUID id) {
+
+  /** Sorts before every product, used when the client does not send a cursor. */
+  public static final ProductCursor START = new ProductCursor(Instant.EPOCH, new UUID(0L, 0L));
+
+  private static final String SEPARATOR = "|";
+
+  public String encode() {
+    String raw = createdAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param token the value previously returned by {@link #encode()}, or null/blank for the start
+   * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+   */
+  public static ProductCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return START;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      return new ProductCursor(
+          Instant.parse(raw.substring(0, separator)),
+          UUID.fromString(raw.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Malformed product cursor", e);
+    }
+  }
+}
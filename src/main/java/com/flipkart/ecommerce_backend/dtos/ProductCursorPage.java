@@ -0,0 +1,10 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated product listing. {@code nextCursor} is null when there are no
+ * further products.
+ */
+public record ProductCursorPage(
+    List<ProductListingDto> content, String nextCursor, boolean hasNext) {}
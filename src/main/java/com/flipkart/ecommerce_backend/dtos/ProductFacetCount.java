@@ -0,0 +1,7 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+/**
+ * Number of matching products sharing one {@code (brand, category, price range)} combination. The
+ * per-dimension facet counts are sums over these rows.
+ */
+public record ProductFacetCount(String brand, String category, String priceRange, Long count) {}
@@ -0,0 +1,7 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import java.util.Map;
+
+/** Facet counts for a product query, keyed by facet value. */
+public record ProductFacets(
+    Map<String, Long> brands, Map<String, Long> categories, Map<String, Long> priceRanges) {}
@@ -0,0 +1,6 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+/**
+ * A rejected import row; {@code row} is its 1-based position in the upload, not counting a header.
+ */
+public record ProductImportError(long row, String sku, String message) {}
@@ -0,0 +1,23 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import java.util.Arrays;
+import java.util.Optional;
+import org.springframework.http.MediaType;
+
+/** Upload formats accepted by the bulk product import, identified by the request content type. */
+public enum ProductImportFormat {
+  CSV("text/csv"),
+  NDJSON("application/x-ndjson");
+
+  private final MediaType mediaType;
+
+  ProductImportFormat(String mediaType) {
+    this.mediaType = MediaType.parseMediaType(mediaType);
+  }
+
+  public static Optional<ProductImportFormat> fromContentType(MediaType contentType) {
+    return Arrays.stream(values())
+        .filter(format -> format.mediaType.isCompatibleWith(contentType))
+        .findFirst();
+  }
+}
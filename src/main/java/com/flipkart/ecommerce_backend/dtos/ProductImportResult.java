@@ -0,0 +1,14 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first errors are listed; {@code errorsTruncated} tells whether
+ * more rows failed than are reported.
+ */
+public record ProductImportResult(
+    long processed,
+    long imported,
+    long failed,
+    List<ProductImportError> errors,
+    boolean errorsTruncated) {}
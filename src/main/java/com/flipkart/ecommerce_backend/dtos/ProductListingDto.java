@@ -0,0 +1,24 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import com.flipkart.ecommerce_backend.models.ProductStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Catalog listing row: the product's card fields plus a summary of its variants, computed in SQL.
+ * Variant prices are null and the quantity is zero for a product without variants. Full details,
+ * including descriptions and individual variants, come from {@link ProductDto}.
+ */
+public record ProductListingDto(
+    UUID id,
+    String name,
+    BigDecimal price,
+    String category,
+    String brand,
+    String imageUrl,
+    ProductStatus status,
+    Instant createdAt,
+    BigDecimal minVariantPrice,
+    BigDecimal maxVariantPrice,
+    Long totalQuantity) {}
@@ -0,0 +1,16 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import com.flipkart.ecommerce_backend.models.ProductStatus;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+
+/** Optional filters for the faceted product query; any combination of them may be set. */
+public record ProductQueryRequest(
+    @Size(max = 100) String category,
+    @Size(max = 100) String brand,
+    @DecimalMin(value = "0.00") BigDecimal minPrice,
+    @DecimalMin(value = "0.00") BigDecimal maxPrice,
+    ProductStatus status,
+    @Size(max = 50) String color,
+    @Size(max = 50) String size) {}
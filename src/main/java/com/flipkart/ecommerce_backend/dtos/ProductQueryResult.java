@@ -0,0 +1,5 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import org.springframework.data.domain.Page;
+
+public record ProductQueryResult(Page<ProductListingDto> products, ProductFacets facets) {}
@@ -0,0 +1,9 @@
+package com.flipkart.ecommerce_backend.events;
+
+import java.time.Instant;
+
+/**
+ * Published by checkout when an order is placed and its stock is held until {@code
+ * reservationExpiresAt}. The reservation expiry index listens for it after commit.
+ */
+public record OrderPlacedEvent(Long orderId, Instant reservationExpiresAt) {}
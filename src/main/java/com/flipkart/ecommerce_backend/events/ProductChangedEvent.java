@@ -0,0 +1,9 @@
+package com.flipkart.ecommerce_backend.events;
+
+import java.util.UUID;
+
+/**
+ * Published by the product service whenever a product is created, updated or soft-deleted. Derived
+ * read models listen for it after commit, so a rolled-back write never reaches them.
+ */
+public record ProductChangedEvent(UUID productId) {}
@@ -0,0 +1,9 @@
+package com.flipkart.ecommerce_backend.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user's credentials, roles or account status change, or the user is deleted.
+ * Caches of user state listen for it after commit.
+ */
+public record UserChangedEvent(UUID userId) {}
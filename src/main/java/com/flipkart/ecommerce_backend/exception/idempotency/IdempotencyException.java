@@ -0,0 +1,11 @@
+package com.flipkart.ecommerce_backend.exception.idempotency;
+
+import com.flipkart.ecommerce_backend.exception.BusinessException;
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+
+/** Misuse of an {@code Idempotency-Key}: reused for another request, or still in progress. */
+public class IdempotencyException extends BusinessException {
+  public IdempotencyException(ErrorCode errorCode, String message) {
+    super(errorCode, message);
+  }
+}
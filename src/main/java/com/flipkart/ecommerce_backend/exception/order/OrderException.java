@@ -0,0 +1,11 @@
+package com.flipkart.ecommerce_backend.exception.order;
+
+import com.flipkart.ecommerce_backend.exception.BusinessException;
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+
+/** Base exception for order-related business errors */
+public class OrderException extends BusinessException {
+  public OrderException(ErrorCode errorCode, String message) {
+    super(errorCode, message);
+  }
+}
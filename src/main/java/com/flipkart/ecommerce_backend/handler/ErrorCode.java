@@ -74,7 +74,27 @@ public enum ErrorCode {
   // Authorization Failed
   ACCESS_DENIED("AUTH-11001", "Access denied", HttpStatus.FORBIDDEN),
   // Product SKU Domain (12000-12999)
-  SKU_ALREADY_EXISTS("SKU-12000", "SKU already exists", HttpStatus.CONFLICT);
+  SKU_ALREADY_EXISTS("SKU-12000", "SKU already exists", HttpStatus.CONFLICT),
+
+  // Rate Limit Domain (13000-13999)
+  RATE_LIMIT_ERROR_LOGIN("RTL-13000", "Too many login attempts", HttpStatus.TOO_MANY_REQUESTS),
+  RATE_LIMIT_ERROR_RESET_PASSWORD(
+      "RTL-13001", "Too many password reset attempts", HttpStatus.TOO_MANY_REQUESTS),
+  PASSWORD_HASHING_BUSY(
+      "RTL-13002", "Too many concurrent authentication requests", HttpStatus.TOO_MANY_REQUESTS),
+
+  // Order Domain (14000-14999)
+  INSUFFICIENT_STOCK("ORD-14000", "Insufficient stock", HttpStatus.CONFLICT),
+  ORDER_ITEM_UNAVAILABLE(
+      "ORD-14001", "Product is not available for ordering", HttpStatus.BAD_REQUEST),
+
+  // Idempotency Domain (15000-15999)
+  IDEMPOTENCY_KEY_REUSED(
+      "IDM-15000",
+      "Idempotency key already used for a different request",
+      HttpStatus.UNPROCESSABLE_ENTITY),
+  IDEMPOTENCY_REQUEST_IN_PROGRESS(
+      "IDM-15001", "Request with this idempotency key is in progress", HttpStatus.CONFLICT);
   private final String code;
   private final String defaultMessage;
   private final HttpStatus httpStatus;
@@ -0,0 +1,130 @@
+package com.flipkart.ecommerce_backend.idempotency;
+
+import com.flipkart.ecommerce_backend.exception.idempotency.IdempotencyException;
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dedup store for {@code Idempotency-Key} requests, keyed by (user id, key). The first request with
+ * a key runs; its result (the response body) is kept for {@code ttl-ms} and returned to every retry
+ * with the same key. A duplicate arriving while the first is still running waits for it, up to
+ * {@code wait-timeout-ms}, instead of running again. A failed run is not kept, so a retry runs
+ * afresh; the duplicates already waiting get the same error.
+ *
+ * <p>Reusing a key for a different request body is rejected. Memory is bounded by {@code
+ * max-entries}; the store is local to the instance, so retries must reach the same instance to be
+ * deduplicated.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+  public static final String HEADER = "Idempotency-Key";
+
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.idempotency.max-entries}")
+  private long maxEntries;
+
+  @Value("${app.idempotency.ttl-ms}")
+  private long ttlMs;
+
+  @Value("${app.idempotency.wait-timeout-ms}")
+  private long waitTimeoutMs;
+
+  private Cache<Key, Execution> executions;
+
+  private record Key(UUID userId, String idempotencyKey) {}
+
+  /** {@code request} is kept to detect a key reused for another request. */
+  private record Execution(Object request, CompletableFuture<Object> result) {}
+
+  @PostConstruct
+  public void init() {
+    executions =
+        Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, executions, "idempotency");
+  }
+
+  /**
+   * Runs {@code action} once per (user, key) and returns its result, or the result of the earlier
+   * run with this key. Without a key the action simply runs.
+   *
+   * @param request the request body; must implement {@code equals} (records do).
+   * @throws IdempotencyException if the key was used for a different request, or its first run is
+   *     still going after the wait timeout.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(UUID userId, String idempotencyKey, Object request, Supplier<T> action) {
+    if (idempotencyKey == null) {
+      return action.get();
+    }
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new IdempotencyException(
+          ErrorCode.BAD_REQUEST,
+          HEADER + " must be 1 to " + MAX_KEY_LENGTH + " non-blank characters");
+    }
+    Key key = new Key(userId, idempotencyKey);
+    Execution execution = new Execution(request, new CompletableFuture<>());
+    Execution earlier = executions.asMap().putIfAbsent(key, execution);
+    if (earlier != null) {
+      if (!earlier.request().equals(request)) {
+        throw new IdempotencyException(
+            ErrorCode.IDEMPOTENCY_KEY_REUSED,
+            HEADER + " '" + idempotencyKey + "' was already used for a different request");
+      }
+      log.info("Replaying the result of {} '{}' for user {}", HEADER, idempotencyKey, userId);
+      return (T) await(earlier.result(), idempotencyKey);
+    }
+    try {
+      T result = action.get();
+      execution.result().complete(result);
+      return result;
+    } catch (Throwable e) {
+      // Errors too: a first run that never completes would block every retry of this key
+      executions.asMap().remove(key, execution);
+      execution.result().completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private Object await(CompletableFuture<Object> result, String idempotencyKey) {
+    try {
+      return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      throw new IdempotencyException(
+          ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS,
+          "A request with " + HEADER + " '" + idempotencyKey + "' is still being processed");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Idempotent request failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for an idempotent request", e);
+    }
+  }
+}
@@ -1,55 +1,58 @@
 package com.flipkart.ecommerce_backend.interceptors;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.flipkart.ecommerce_backend.dtos.LoginRequest;
-import com.flipkart.ecommerce_backend.dtos.ResetPasswordRequest;
 import com.flipkart.ecommerce_backend.exception.auth.RateLimitExceptionLogin;
 import com.flipkart.ecommerce_backend.handler.ErrorCode;
 import com.flipkart.ecommerce_backend.security.config.RateLimitConfig;
+import com.flipkart.ecommerce_backend.security.ratelimit.RateLimitKeyExtractor;
 import com.flipkart.ecommerce_backend.wrapper.CachedBodyHttpServletRequest;
 import io.github.bucket4j.Bucket;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
 
+/**
+ * Applies the login and password reset rate limits. The key (username or email) is scanned once out
+ * of the body already buffered by {@link CachedBodyHttpServletRequest} and stored in the {@link
+ * #RATE_LIMIT_KEY_ATTRIBUTE} request attribute, so later stages don't need to parse it again.
+ */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class RateLimiterInterceptor implements HandlerInterceptor {
 
+  public static final String RATE_LIMIT_KEY_ATTRIBUTE =
+      RateLimiterInterceptor.class.getName() + ".key";
+
   private static final String LOGIN_API_URI = "/api/auth/login";
-  private static final String RESET_PASSWORD_API_URI = "/api/auth/reset";
+  private static final String RESET_PASSWORD_API_URI = "/api/password/reset";
+
+  /** Routes this interceptor limits; their request bodies are buffered by the caching filter. */
+  public static final String[] RATE_LIMITED_PATHS = {LOGIN_API_URI, RESET_PASSWORD_API_URI};
 
-  @Autowired private RateLimitConfig rateLimitConfig;
+  private final RateLimitConfig rateLimitConfig;
+  private final RateLimitKeyExtractor rateLimitKeyExtractor;
 
   @Override
   public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
       throws Exception {
-
-    if (request instanceof CachedBodyHttpServletRequest) {
-      CachedBodyHttpServletRequest cacheRequest = new CachedBodyHttpServletRequest(request);
-
-      String requestBody = cacheRequest.getbody();
-      ObjectMapper objectMapper = new ObjectMapper();
-
-      if (StringUtils.equals(cacheRequest.getRequestURI(), LOGIN_API_URI)) {
-        LoginRequest loginRequest = objectMapper.readValue(requestBody, LoginRequest.class);
-        Bucket bucket = rateLimitConfig.resolveBucketForLogin(loginRequest.username());
-        if (!bucket.tryConsume(1)) {
-          log.warn("Rate Limit exceed for login Attempts for user: ", loginRequest.username());
-          throw new RateLimitExceptionLogin(
-              ErrorCode.RATE_LIMIT_ERROR_LOGIN, "Too Many Requests try again Later");
-        }
-      } else if (StringUtils.equals(cacheRequest.getRequestURI(), RESET_PASSWORD_API_URI)) {
-        ResetPasswordRequest resetPasswordRequest =
-            objectMapper.readValue(requestBody, ResetPasswordRequest.class);
-        Bucket bucket = rateLimitConfig.resolveBucketForResetPassword(resetPasswordRequest.email());
+    if (StringUtils.equals(request.getRequestURI(), LOGIN_API_URI)) {
+      String username = resolveKey(request, "username");
+      if (username != null && !rateLimitConfig.resolveBucketForLogin(username).tryConsume(1)) {
+        log.warn("Rate Limit exceed for login Attempts for user: {}", username);
+        throw new RateLimitExceptionLogin(
+            ErrorCode.RATE_LIMIT_ERROR_LOGIN, "Too Many Requests try again Later");
+      }
+    } else if (StringUtils.equals(request.getRequestURI(), RESET_PASSWORD_API_URI)) {
+      String email = resolveKey(request, "email");
+      if (email != null) {
+        Bucket bucket = rateLimitConfig.resolveBucketForResetPassword(email);
         if (!bucket.tryConsume(1)) {
-          log.warn(
-              "Rate Limit exceed for Password Reset for email: ", resetPasswordRequest.email());
+          log.warn("Rate Limit exceed for Password Reset for email: {}", email);
           throw new RateLimitExceptionLogin(
               ErrorCode.RATE_LIMIT_ERROR_RESET_PASSWORD,
               "Frequent Password reset, Please try again Later");
@@ -58,4 +61,25 @@ public class RateLimiterInterceptor implements HandlerInterceptor {
     }
     return true;
   }
+
+  /**
+   * Returns the rate limit key, extracting it from the buffered body on first use. Null when the
+   * body was not buffered or has no usable value; binding validation rejects such requests anyway.
+   */
+  private String resolveKey(HttpServletRequest request, String field) throws Exception {
+    Object cached = request.getAttribute(RATE_LIMIT_KEY_ATTRIBUTE);
+    if (cached instanceof String key) {
+      return key;
+    }
+    CachedBodyHttpServletRequest cachedRequest =
+        WebUtils.getNativeRequest(request, CachedBodyHttpServletRequest.class);
+    if (cachedRequest == null) {
+      return null;
+    }
+    String key = rateLimitKeyExtractor.extract(cachedRequest.getCachedBody(), field);
+    if (key != null) {
+      request.setAttribute(RATE_LIMIT_KEY_ATTRIBUTE, key);
+    }
+    return key;
+  }
 }
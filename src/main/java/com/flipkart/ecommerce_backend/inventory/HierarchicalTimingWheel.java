@@ -0,0 +1,102 @@
+package com.flipkart.ecommerce_backend.inventory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: deadlines are hashed into {@code wheelSize} buckets of {@code tickMs}
+ * each, and deadlines beyond the wheel's span go to an overflow wheel whose tick is the whole span
+ * of the one below (created on demand, so any horizon fits). Adding is O(1) and advancing the clock
+ * by one tick touches a single bucket; overflow buckets cascade down as the clock reaches them.
+ *
+ * <p>An item is handed out once the clock has passed the end of its tick, so at most {@code tickMs}
+ * after its deadline and never before. Not thread-safe: callers synchronize.
+ */
+public class HierarchicalTimingWheel<T> {
+
+  private record Entry<T>(T item, long deadlineMs) {}
+
+  private final long tickMs;
+  private final int wheelSize;
+  private final long intervalMs;
+  private final List<ArrayDeque<Entry<T>>> buckets;
+  // Start of the current tick; every bucket before it has been emptied
+  private long currentTimeMs;
+  private HierarchicalTimingWheel<T> overflow;
+  private int size;
+
+  public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+    this.tickMs = tickMs;
+    this.wheelSize = wheelSize;
+    this.intervalMs = tickMs * wheelSize;
+    this.currentTimeMs = startMs - Math.floorMod(startMs, tickMs);
+    this.buckets = new ArrayList<>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      buckets.add(new ArrayDeque<>());
+    }
+  }
+
+  /**
+   * Schedules {@code item} for {@code deadlineMs}. Returns false, without keeping it, if the
+   * deadline has already been passed by the clock; the caller handles such items right away.
+   */
+  public boolean add(T item, long deadlineMs) {
+    if (deadlineMs < currentTimeMs) {
+      return false;
+    }
+    place(new Entry<>(item, deadlineMs));
+    size++;
+    return true;
+  }
+
+  /** Moves the clock to {@code nowMs} and returns the items whose tick has fully passed. */
+  public List<T> advance(long nowMs) {
+    List<T> expired = new ArrayList<>();
+    while (currentTimeMs + tickMs <= nowMs) {
+      ArrayDeque<Entry<T>> bucket = bucket(currentTimeMs);
+      for (Entry<T> entry : bucket) {
+        expired.add(entry.item());
+      }
+      bucket.clear();
+      moveTo(currentTimeMs + tickMs);
+    }
+    size -= expired.size();
+    return expired;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private void place(Entry<T> entry) {
+    if (entry.deadlineMs() < currentTimeMs + intervalMs) {
+      bucket(entry.deadlineMs()).add(entry);
+    } else {
+      if (overflow == null) {
+        overflow = new HierarchicalTimingWheel<>(intervalMs, wheelSize, currentTimeMs);
+      }
+      overflow.place(entry);
+    }
+  }
+
+  /**
+   * Sets the clock of this level. When it crosses a boundary of the overflow wheel's tick, the
+   * overflow bucket starting there now fits in this wheel and is cascaded down into it.
+   */
+  private void moveTo(long timeMs) {
+    currentTimeMs = timeMs;
+    if (overflow != null && Math.floorMod(timeMs, intervalMs) == 0) {
+      overflow.moveTo(timeMs);
+      ArrayDeque<Entry<T>> cascaded = overflow.bucket(timeMs);
+      for (Entry<T> entry : cascaded) {
+        place(entry);
+      }
+      cascaded.clear();
+    }
+  }
+
+  private ArrayDeque<Entry<T>> bucket(long timeMs) {
+    return buckets.get((int) Math.floorMod(Math.floorDiv(timeMs, tickMs), (long) wheelSize));
+  }
+}
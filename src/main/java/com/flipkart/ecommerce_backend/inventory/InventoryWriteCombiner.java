@@ -0,0 +1,256 @@
+package com.flipkart.ecommerce_backend.inventory;
+
+import com.flipkart.ecommerce_backend.repository.ProductVariantRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Group commit for stock decrements. Concurrent reservations of the same variant (SKU) queue up in
+ * memory and are applied together: one transaction and, when there is enough stock for all of them,
+ * one conditional {@code UPDATE} for the sum. A hot row is then locked once per batch instead of
+ * once per order, so its throughput grows with the batch size.
+ *
+ * <p>A batch is flushed {@code max-delay-ms} after its first request, or as soon as {@code
+ * max-batch-size} requests have queued. At most one batch per variant is in flight; requests
+ * arriving meanwhile form the next one. If the stock cannot cover the whole batch, the row is
+ * locked and read, and requests are granted first come first served while they fit.
+ *
+ * <p>Each batch commits on its own, outside the caller's transaction: a caller that fails after a
+ * granted reservation must give the stock back itself.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inventory.write-combiner.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class InventoryWriteCombiner {
+
+  private final ProductVariantRepository productVariantRepository;
+  private final PlatformTransactionManager transactionManager;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.inventory.write-combiner.max-batch-size}")
+  private int maxBatchSize;
+
+  @Value("${app.inventory.write-combiner.max-delay-ms}")
+  private long maxDelayMs;
+
+  @Value("${app.inventory.write-combiner.threads}")
+  private int threads;
+
+  private final ConcurrentHashMap<UUID, Lane> lanes = new ConcurrentHashMap<>();
+  private ScheduledThreadPoolExecutor executor;
+  private TransactionTemplate transactionTemplate;
+  private DistributionSummary batchSizes;
+  private Timer flushTimer;
+
+  private record Request(int quantity, CompletableFuture<Boolean> result) {}
+
+  @PostConstruct
+  public void init() {
+    AtomicInteger threadNumber = new AtomicInteger();
+    executor =
+        new ScheduledThreadPoolExecutor(
+            threads,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "inventory-combiner-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    batchSizes =
+        DistributionSummary.builder("inventory.combiner.batch.size").register(meterRegistry);
+    flushTimer = Timer.builder("inventory.combiner.flush").register(meterRegistry);
+    Gauge.builder("inventory.combiner.lanes", lanes, ConcurrentHashMap::size)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Queues a reservation of {@code quantity} units. The future completes with true once the
+   * decrement is committed, false if the variant is missing or lacks the stock, or exceptionally if
+   * the batch could not be written.
+   */
+  public CompletableFuture<Boolean> reserve(UUID variantId, int quantity) {
+    Request request = new Request(quantity, new CompletableFuture<>());
+    // A lane retired between lookup and add refuses the request; the next one is created fresh
+    while (!lanes.computeIfAbsent(variantId, Lane::new).add(request)) {
+      Thread.onSpinWait();
+    }
+    return request.result();
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+      log.warn("Inventory write combiner did not drain within 10s");
+    }
+  }
+
+  private final class Lane {
+    private final UUID variantId;
+    private List<Request> pending = new ArrayList<>();
+    private boolean flushScheduled;
+    private boolean flushing;
+    private boolean retired;
+
+    private Lane(UUID variantId) {
+      this.variantId = variantId;
+    }
+
+    synchronized boolean add(Request request) {
+      if (retired) {
+        return false;
+      }
+      if (executor.isShutdown()) {
+        rejectShutdown(request);
+        return true;
+      }
+      pending.add(request);
+      if (flushing) {
+        // Picked up when the batch in flight completes
+        return true;
+      }
+      // Flags are set only once the executor took the task; the task needs this lock to run
+      try {
+        if (pending.size() >= maxBatchSize) {
+          executor.execute(this::flush);
+          flushing = true;
+        } else if (!flushScheduled) {
+          executor.schedule(this::flushIfIdle, maxDelayMs, TimeUnit.MILLISECONDS);
+          flushScheduled = true;
+        }
+      } catch (RejectedExecutionException e) {
+        // Shut down between the check above and the hand-off
+        pending.remove(pending.size() - 1);
+        if (pending.isEmpty() && !flushScheduled) {
+          retire();
+        }
+        rejectShutdown(request);
+      }
+      return true;
+    }
+
+    private void flushIfIdle() {
+      synchronized (this) {
+        flushScheduled = false;
+        if (flushing) {
+          return;
+        }
+        if (pending.isEmpty()) {
+          retire();
+          return;
+        }
+        flushing = true;
+      }
+      flush();
+    }
+
+    private void retire() {
+      retired = true;
+      lanes.remove(variantId, this);
+    }
+
+    /** Applies batches back to back while full ones are waiting, then re-arms the timer. */
+    private void flush() {
+      while (true) {
+        List<Request> batch;
+        synchronized (this) {
+          batch = pending;
+          pending = new ArrayList<>();
+        }
+        if (!batch.isEmpty()) {
+          apply(variantId, batch);
+        }
+        synchronized (this) {
+          if (pending.isEmpty()) {
+            flushing = false;
+            if (!flushScheduled) {
+              retire();
+            }
+            return;
+          }
+          // On shutdown nothing can be scheduled any more, so drain here
+          if (pending.size() < maxBatchSize && !executor.isShutdown()) {
+            flushing = false;
+            if (!flushScheduled) {
+              flushScheduled = true;
+              executor.schedule(this::flushIfIdle, maxDelayMs, TimeUnit.MILLISECONDS);
+            }
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private static void rejectShutdown(Request request) {
+    request
+        .result()
+        .completeExceptionally(new IllegalStateException("Inventory write combiner is shut down"));
+  }
+
+  private void apply(UUID variantId, List<Request> batch) {
+    batchSizes.record(batch.size());
+    boolean[] granted = new boolean[batch.size()];
+    try {
+      flushTimer.record(
+          () ->
+              transactionTemplate.executeWithoutResult(
+                  status -> allocate(variantId, batch, granted)));
+    } catch (RuntimeException e) {
+      log.error(
+          "Stock batch of {} for variant {} failed: {}", batch.size(), variantId, e.getMessage());
+      batch.forEach(request -> request.result().completeExceptionally(e));
+      return;
+    }
+    // Only completed once committed
+    for (int i = 0; i < granted.length; i++) {
+      batch.get(i).result().complete(granted[i]);
+    }
+  }
+
+  private void allocate(UUID variantId, List<Request> batch, boolean[] granted) {
+    Instant now = Instant.now();
+    int total = batch.stream().mapToInt(Request::quantity).sum();
+    if (productVariantRepository.decrementStock(variantId, total, now) == 1) {
+      Arrays.fill(granted, true);
+      return;
+    }
+    // Not enough for everyone: lock the row and hand out what is left in arrival order
+    Integer available = productVariantRepository.findQuantityForUpdate(variantId).orElse(0);
+    int taken = 0;
+    for (int i = 0; i < batch.size(); i++) {
+      int quantity = batch.get(i).quantity();
+      if (taken + quantity <= available) {
+        granted[i] = true;
+        taken += quantity;
+      }
+    }
+    if (taken > 0) {
+      productVariantRepository.decrementStock(variantId, taken, now);
+    }
+  }
+}
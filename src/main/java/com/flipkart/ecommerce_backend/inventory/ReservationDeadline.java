@@ -0,0 +1,6 @@
+package com.flipkart.ecommerce_backend.inventory;
+
+import java.time.Instant;
+
+/** Projection of a {@code stock_reservation} row used to rebuild the expiry index. */
+public record ReservationDeadline(Long orderId, Instant expiresAt) {}
@@ -0,0 +1,216 @@
+package com.flipkart.ecommerce_backend.inventory;
+
+import com.flipkart.ecommerce_backend.events.OrderPlacedEvent;
+import com.flipkart.ecommerce_backend.repository.ProductVariantRepository;
+import com.flipkart.ecommerce_backend.repository.StockReservationRepository;
+import com.flipkart.ecommerce_backend.repository.WebOrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Returns the stock of orders left unpaid past their reservation TTL. Reservation deadlines are
+ * indexed in memory in a {@link HierarchicalTimingWheel}, fed by committed {@link
+ * OrderPlacedEvent}s and rebuilt from {@code stock_reservation} at startup. Every {@code tick-ms}
+ * the wheel hands out the orders that came due, and they are released in batches of {@code
+ * batch-size}, one transaction each:
+ *
+ * <ol>
+ *   <li>the batch's reservation rows still held are locked (so a payment or another instance can't
+ *       release them twice);
+ *   <li>their lines are summed per variant and each variant gets one increment, in {@link
+ *       UUID#compareTo} order like checkout (not the database's byte order of the ids, which
+ *       differs), so the two never lock a pair of variants in opposite order;
+ *   <li>the orders are marked {@code EXPIRED} and the rows deleted.
+ * </ol>
+ *
+ * <p>Holds the wheel does not know about (placed on another instance, or whose release failed) are
+ * caught every {@code sweep-interval-ms} by a range scan of the {@code expires_at} index. Publishes
+ * {@code inventory.reservations.expired} and {@code inventory.reservations.tracked}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryScheduler {
+
+  private final StockReservationRepository stockReservationRepository;
+  private final WebOrderRepository webOrderRepository;
+  private final ProductVariantRepository productVariantRepository;
+  private final PlatformTransactionManager transactionManager;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.inventory.reservation.tick-ms}")
+  private long tickMs;
+
+  @Value("${app.inventory.reservation.wheel-size}")
+  private int wheelSize;
+
+  @Value("${app.inventory.reservation.batch-size}")
+  private int batchSize;
+
+  @Value("${app.inventory.reservation.sweep-interval-ms}")
+  private long sweepIntervalMs;
+
+  // Guarded by itself, like the due list
+  private HierarchicalTimingWheel<Long> wheel;
+  private final List<Long> due = new ArrayList<>();
+
+  private ScheduledExecutorService scheduler;
+  private Counter expired;
+
+  @PostConstruct
+  public void init() {
+    wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+    expired = Counter.builder("inventory.reservations.expired").register(meterRegistry);
+    Gauge.builder("inventory.reservations.tracked", this, ReservationExpiryScheduler::tracked)
+        .register(meterRegistry);
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "reservation-expiry");
+              thread.setDaemon(true);
+              return thread;
+            });
+    // Rebuilt on the expiry thread, before its first tick; startup doesn't wait for it
+    scheduler.execute(() -> guarded("rebuild", this::rebuild));
+    scheduler.scheduleWithFixedDelay(
+        () -> guarded("tick", this::tick), tickMs, tickMs, TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(
+        () -> guarded("sweep", this::sweep),
+        sweepIntervalMs,
+        sweepIntervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onOrderPlaced(OrderPlacedEvent event) {
+    track(event.orderId(), event.reservationExpiresAt());
+  }
+
+  private void track(Long orderId, Instant expiresAt) {
+    synchronized (wheel) {
+      if (!wheel.add(orderId, expiresAt.toEpochMilli())) {
+        due.add(orderId);
+      }
+    }
+  }
+
+  private int tracked() {
+    synchronized (wheel) {
+      return wheel.size() + due.size();
+    }
+  }
+
+  private void rebuild() {
+    long start = System.currentTimeMillis();
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    Integer count =
+        readOnly.execute(
+            status -> {
+              try (Stream<ReservationDeadline> rows = stockReservationRepository.streamAll()) {
+                int[] loaded = {0};
+                rows.forEach(
+                    row -> {
+                      track(row.orderId(), row.expiresAt());
+                      loaded[0]++;
+                    });
+                return loaded[0];
+              }
+            });
+    log.info(
+        "Loaded {} stock reservations into the expiry index in {} ms",
+        count,
+        System.currentTimeMillis() - start);
+  }
+
+  private void tick() {
+    List<Long> orderIds;
+    synchronized (wheel) {
+      orderIds = wheel.advance(System.currentTimeMillis());
+      orderIds.addAll(due);
+      due.clear();
+    }
+    for (int from = 0; from < orderIds.size(); from += batchSize) {
+      release(orderIds.subList(from, Math.min(from + batchSize, orderIds.size())));
+    }
+  }
+
+  private void sweep() {
+    List<Long> orderIds;
+    do {
+      orderIds = stockReservationRepository.findExpiredOrderIds(Instant.now(), Limit.of(batchSize));
+    } while (!orderIds.isEmpty() && release(orderIds) == batchSize);
+  }
+
+  /** Releases the holds among {@code orderIds} that are still due; returns how many. */
+  private int release(List<Long> orderIds) {
+    Instant now = Instant.now();
+    Integer released =
+        new TransactionTemplate(transactionManager)
+            .execute(
+                status -> {
+                  List<Long> locked = stockReservationRepository.lockExpired(orderIds, now);
+                  if (locked.isEmpty()) {
+                    return 0;
+                  }
+                  // Same comparator as checkout's TreeMap, hence the same lock order
+                  Map<UUID, Long> quantities =
+                      webOrderRepository.sumQuantitiesByVariant(locked).stream()
+                          .collect(
+                              Collectors.toMap(
+                                  VariantQuantity::variantId,
+                                  VariantQuantity::quantity,
+                                  Long::sum,
+                                  TreeMap::new));
+                  quantities.forEach(
+                      (variantId, quantity) ->
+                          productVariantRepository.incrementStock(
+                              variantId, quantity.intValue(), now));
+                  webOrderRepository.markExpired(locked);
+                  stockReservationRepository.deleteByOrderIdIn(locked);
+                  return locked.size();
+                });
+    if (released > 0) {
+      expired.increment(released);
+      log.info("Released the stock of {} expired order reservations", released);
+    }
+    return released;
+  }
+
+  private void guarded(String task, Runnable runnable) {
+    try {
+      runnable.run();
+    } catch (RuntimeException e) {
+      // Holds dropped from the wheel by a failed release are picked up by the sweep
+      log.error("Reservation expiry {} failed: {}", task, e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.flipkart.ecommerce_backend.inventory;
+
+import java.util.UUID;
+
+/** Units of one variant, summed over a batch of order lines. */
+public record VariantQuantity(UUID variantId, Long quantity) {}
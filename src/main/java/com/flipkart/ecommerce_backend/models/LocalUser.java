@@ -1,6 +1,7 @@
 package com.flipkart.ecommerce_backend.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.flipkart.ecommerce_backend.security.principal.AuthenticatedUser;
 import jakarta.persistence.*;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -8,13 +9,12 @@ import lombok.Data;
 import lombok.ToString;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 
 @Entity
 @Data
 @ToString(exclude = {"addresses", "verificationTokens"}) // Add this annotation
 @Table(name = "local_user")
-public class LocalUser implements UserDetails {
+public class LocalUser implements AuthenticatedUser {
 
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
@@ -53,6 +53,11 @@ public class LocalUser implements UserDetails {
   @Column(nullable = false)
   private boolean accountNonLocked = true; // Is the account locked (e.g., too many failed logins)?
 
+  // Stamped into access tokens; bumping it revokes every access token issued before
+  @JsonIgnore
+  @Column(name = "security_version", nullable = false)
+  private int securityVersion;
+
   // --- Relationship with Role ---
   @ManyToMany(
       fetch =
@@ -122,6 +127,11 @@ public class LocalUser implements UserDetails {
     return enabled;
   }
 
+  /** Makes every access token issued to this user so far invalid. */
+  public void revokeAccessTokens() {
+    this.securityVersion++;
+  }
+
   public void addRole(Role role) {
     this.roles.add(role);
   }
@@ -0,0 +1,10 @@
+package com.flipkart.ecommerce_backend.models;
+
+public enum OrderStatus {
+  /** Placed, stock reserved, awaiting payment. */
+  PENDING,
+  PAID,
+  CANCELLED,
+  /** Not paid before its stock reservation expired; the stock has been returned. */
+  EXPIRED
+}
@@ -14,7 +14,12 @@ import lombok.Data;
 @Entity
 @Table(
     name = "product",
-    indexes = {@Index(name = "idx_product_name", columnList = "name")})
+    indexes = {
+      @Index(name = "idx_product_name", columnList = "name"),
+      @Index(name = "idx_product_created_at_id", columnList = "createdAt, id"),
+      @Index(name = "idx_product_category_created_at_id", columnList = "category, createdAt, id"),
+      @Index(name = "idx_product_brand_created_at_id", columnList = "brand, createdAt, id")
+    })
 public class Product {
 
   @Id
@@ -0,0 +1,26 @@
+package com.flipkart.ecommerce_backend.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Materialized number of products per {@link ProductFacetKey}. Maintained incrementally by the
+ * product write paths, see {@code ProductFacetService}.
+ */
+@Entity
+@Table(name = "product_facet_count")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductFacetCounter {
+
+  @EmbeddedId private ProductFacetKey id;
+
+  @Column(name = "product_count", nullable = false)
+  private long productCount;
+}
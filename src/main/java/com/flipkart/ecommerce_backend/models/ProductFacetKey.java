@@ -0,0 +1,45 @@
+package com.flipkart.ecommerce_backend.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.util.Comparator;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** The {@code (category, brand, status)} combination a product is counted under. */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ProductFacetKey implements Serializable, Comparable<ProductFacetKey> {
+
+  private static final Comparator<ProductFacetKey> ORDER =
+      Comparator.comparing(ProductFacetKey::getCategory)
+          .thenComparing(ProductFacetKey::getBrand)
+          .thenComparing(ProductFacetKey::getStatus);
+
+  @Column(length = 100, nullable = false)
+  private String category;
+
+  @Column(length = 100, nullable = false)
+  private String brand;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 50, nullable = false)
+  private ProductStatus status;
+
+  public static ProductFacetKey of(Product product) {
+    return new ProductFacetKey(product.getCategory(), product.getBrand(), product.getStatus());
+  }
+
+  @Override
+  public int compareTo(ProductFacetKey other) {
+    return ORDER.compare(this, other);
+  }
+}
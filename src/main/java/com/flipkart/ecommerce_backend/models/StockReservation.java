@@ -0,0 +1,60 @@
+package com.flipkart.ecommerce_backend.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Stock held by a {@code PENDING} order until {@code expiresAt}. The quantities are the order's
+ * lines; the row only tracks the hold. It is deleted when the hold ends: the order is paid or
+ * cancelled, or the hold expires and the stock is returned.
+ *
+ * <p>The id is the order's, so {@link Persistable} tells {@code save} that a new instance needs a
+ * plain insert, without the select a merge would do first.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "stock_reservation")
+public class StockReservation implements Persistable<Long> {
+
+  @Id
+  @Column(name = "order_id", nullable = false)
+  private Long orderId;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  @Transient private boolean persisted;
+
+  public StockReservation(Long orderId, Instant expiresAt) {
+    this.orderId = orderId;
+    this.expiresAt = expiresAt;
+  }
+
+  @Override
+  public Long getId() {
+    return orderId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
+}
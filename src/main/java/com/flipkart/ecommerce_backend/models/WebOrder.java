@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -11,6 +13,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
@@ -34,6 +38,19 @@ public class WebOrder {
   @JoinColumn(name = "address_id", nullable = false)
   private Address address;
 
-  @OneToMany(mappedBy = "id", cascade = CascadeType.REMOVE, orphanRemoval = true)
+  @Enumerated(EnumType.STRING)
+  @Column(name = "order_status", length = 50, nullable = false)
+  private OrderStatus status = OrderStatus.PENDING;
+
+  @Column(name = "total", precision = 12, scale = 2, nullable = false)
+  private BigDecimal total = BigDecimal.ZERO;
+
+  @Column(name = "order_date", nullable = false, updatable = false)
+  private Instant orderDate = Instant.now();
+
+  @OneToMany(
+      mappedBy = "weborder",
+      cascade = {CascadeType.PERSIST, CascadeType.REMOVE},
+      orphanRemoval = true)
   private List<WebOrderQuantities> webOrderQuantites = new ArrayList<>();
 }
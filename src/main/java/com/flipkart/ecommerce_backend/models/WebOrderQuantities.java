@@ -3,12 +3,14 @@ package com.flipkart.ecommerce_backend.models;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import java.math.BigDecimal;
 import lombok.Data;
 
 @Data
@@ -25,6 +27,15 @@ public class WebOrderQuantities {
   @JoinColumn(name = "product_id", nullable = false)
   private Product product;
 
+  // Null on lines written before orders were placed per variant
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "variant_id")
+  private ProductVariant variant;
+
+  // Price per unit when the order was placed; null on legacy lines
+  @Column(name = "unit_price", precision = 12, scale = 2)
+  private BigDecimal unitPrice;
+
   @Column(name = "quantity", nullable = false)
   private Integer quantity;
 
@@ -6,6 +6,9 @@ import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -20,5 +23,14 @@ public interface EmailVerificationTokenRepository
 
   void deleteByUser(LocalUser user);
 
-  int deleteAllByExpiryDateBefore(Instant now);
+  @Modifying
+  @Query("DELETE FROM EmailVerificationToken t WHERE t.expiryDate < :now")
+  int deleteAllByExpiryDateBefore(@Param("now") Instant now);
+
+  /** Deletes at most {@code limit} expired rows; called in a loop, one short transaction each. */
+  @Modifying
+  @Query(
+      value = "DELETE FROM email_verification_tokens WHERE expiry_date < :now LIMIT :limit",
+      nativeQuery = true)
+  int deleteExpiredChunk(@Param("now") Instant now, @Param("limit") int limit);
 }
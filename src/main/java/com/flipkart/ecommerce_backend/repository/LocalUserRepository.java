@@ -2,11 +2,14 @@ package com.flipkart.ecommerce_backend.repository;
 
 import com.flipkart.ecommerce_backend.models.LocalUser;
 import com.flipkart.ecommerce_backend.models.Role;
+import com.flipkart.ecommerce_backend.security.principal.UserSecurityState;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -29,4 +32,8 @@ public interface LocalUserRepository extends JpaRepository<LocalUser, UUID> {
   Page<LocalUser> findByRolesContains(Role role, Pageable pageable);
 
   boolean existsByRolesContaining(Role role);
+
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.security.principal.UserSecurityState(u.securityVersion, u.enabled, u.accountNonLocked) FROM LocalUser u WHERE u.id = :id")
+  Optional<UserSecurityState> findSecurityStateById(@Param("id") UUID id);
 }
@@ -5,6 +5,9 @@ import com.flipkart.ecommerce_backend.models.PasswordResetToken;
 import java.time.Instant;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,8 +18,17 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
 
   void deleteByToken(String token);
 
+  @Modifying
   @Transactional
-  int deleteByExpiryDateBefore(Instant now);
+  @Query("DELETE FROM PasswordResetToken t WHERE t.expiryDate < :now")
+  int deleteByExpiryDateBefore(@Param("now") Instant now);
+
+  /** Deletes at most {@code limit} expired rows; called in a loop, one short transaction each. */
+  @Modifying
+  @Query(
+      value = "DELETE FROM password_reset_token WHERE expiry_date < :now LIMIT :limit",
+      nativeQuery = true)
+  int deleteExpiredChunk(@Param("now") Instant now, @Param("limit") int limit);
 
   Optional<PasswordResetToken> findByUserAndExpiryDateAfter(LocalUser user, Instant now);
 }
@@ -0,0 +1,55 @@
+package com.flipkart.ecommerce_backend.repository;
+
+import com.flipkart.ecommerce_backend.dtos.FacetValueCount;
+import com.flipkart.ecommerce_backend.models.ProductFacetCounter;
+import com.flipkart.ecommerce_backend.models.ProductFacetKey;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductFacetCounterRepository
+    extends JpaRepository<ProductFacetCounter, ProductFacetKey> {
+
+  /** Adds {@code delta} to a counter, creating it on first use. */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO product_facet_count (category, brand, status, product_count) VALUES (:category, :brand, :status, :delta) ON DUPLICATE KEY UPDATE product_count = product_count + :delta",
+      nativeQuery = true)
+  void adjust(
+      @Param("category") String category,
+      @Param("brand") String brand,
+      @Param("status") String status,
+      @Param("delta") long delta);
+
+  @Modifying
+  @Query(value = "DELETE FROM product_facet_count", nativeQuery = true)
+  void deleteAllCounters();
+
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO product_facet_count (category, brand, status, product_count) SELECT category, brand, status, COUNT(*) FROM product WHERE category IS NOT NULL AND brand IS NOT NULL GROUP BY category, brand, status",
+      nativeQuery = true)
+  int insertCountsFromProducts();
+
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.dtos.FacetValueCount(c.id.brand, SUM(c.productCount)) FROM ProductFacetCounter c WHERE c.id.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED GROUP BY c.id.brand HAVING SUM(c.productCount) > 0 ORDER BY c.id.brand")
+  List<FacetValueCount> countActiveByBrand();
+
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.dtos.FacetValueCount(c.id.category, SUM(c.productCount)) FROM ProductFacetCounter c WHERE c.id.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED GROUP BY c.id.category HAVING SUM(c.productCount) > 0 ORDER BY c.id.category")
+  List<FacetValueCount> countActiveByCategory();
+
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.dtos.FacetValueCount(c.id.brand, SUM(c.productCount)) FROM ProductFacetCounter c WHERE c.id.category = :category AND c.id.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED GROUP BY c.id.brand HAVING SUM(c.productCount) > 0 ORDER BY c.id.brand")
+  List<FacetValueCount> countActiveByBrandInCategory(@Param("category") String category);
+
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.dtos.FacetValueCount(c.id.category, SUM(c.productCount)) FROM ProductFacetCounter c WHERE c.id.brand = :brand AND c.id.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED GROUP BY c.id.category HAVING SUM(c.productCount) > 0 ORDER BY c.id.category")
+  List<FacetValueCount> countActiveByCategoryForBrand(@Param("brand") String brand);
+}
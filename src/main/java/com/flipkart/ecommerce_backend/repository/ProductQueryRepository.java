@@ -0,0 +1,24 @@
+package com.flipkart.ecommerce_backend.repository;
+
+import com.flipkart.ecommerce_backend.dtos.ProductFacetCount;
+import com.flipkart.ecommerce_backend.dtos.ProductQueryRequest;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+
+/** Dynamic-filter queries backing the faceted product search, mixed into ProductRepository. */
+public interface ProductQueryRepository {
+
+  /**
+   * Returns the ids of one page of non-deleted products matching every filter that is set.
+   *
+   * @throws IllegalArgumentException if the pageable sorts by an unsupported property
+   */
+  List<UUID> findIdsByFilter(ProductQueryRequest filter, Pageable pageable);
+
+  /**
+   * Counts the matching products per {@code (brand, category, price range)} in a single grouped
+   * query. The counts add up to the total number of matches.
+   */
+  List<ProductFacetCount> countFacetsByFilter(ProductQueryRequest filter);
+}
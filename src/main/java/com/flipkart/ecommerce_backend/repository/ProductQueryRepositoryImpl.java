@@ -0,0 +1,160 @@
+package com.flipkart.ecommerce_backend.repository;
+
+import com.flipkart.ecommerce_backend.dtos.ProductFacetCount;
+import com.flipkart.ecommerce_backend.dtos.ProductQueryRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Builds the faceted product queries as JPQL, one statement per predicate shape (which filters are
+ * set, plus the sort). Filter values are always bound as parameters, so every request with the same
+ * shape produces the identical query string and reuses Hibernate's cached interpretation of it from
+ * the query plan cache; the strings themselves are memoized per shape here. There are at most 2^6
+ * filter shapes.
+ */
+public class ProductQueryRepositoryImpl implements ProductQueryRepository {
+
+  // Upper bounds (exclusive) of the price facet buckets; the last bucket is open-ended
+  private static final int[] PRICE_BUCKET_BOUNDS = {500, 1000, 5000, 10000, 50000};
+
+  private static final Set<String> SORTABLE_PROPERTIES =
+      Set.of("name", "price", "brand", "category", "createdAt", "updatedAt");
+  private static final int MAX_CACHED_QUERIES = 512;
+
+  private static final String PRICE_BUCKET_EXPRESSION = priceBucketExpression();
+
+  @PersistenceContext private EntityManager entityManager;
+
+  private final Map<String, String> idQueries = new ConcurrentHashMap<>();
+  private final Map<String, String> facetQueries = new ConcurrentHashMap<>();
+
+  @Override
+  public List<UUID> findIdsByFilter(ProductQueryRequest filter, Pageable pageable) {
+    String orderBy = orderBy(pageable.getSort());
+    String jpql =
+        cached(
+            idQueries,
+            shape(filter) + orderBy,
+            () -> "SELECT p.id FROM Product p WHERE " + where(filter) + orderBy);
+    TypedQuery<UUID> query = entityManager.createQuery(jpql, UUID.class);
+    bind(query, filter);
+    if (pageable.isPaged()) {
+      query.setFirstResult((int) pageable.getOffset());
+      query.setMaxResults(pageable.getPageSize());
+    }
+    return query.getResultList();
+  }
+
+  @Override
+  public List<ProductFacetCount> countFacetsByFilter(ProductQueryRequest filter) {
+    String jpql =
+        cached(
+            facetQueries,
+            shape(filter),
+            () ->
+                "SELECT new com.flipkart.ecommerce_backend.dtos.ProductFacetCount(p.brand, p.category, "
+                    + PRICE_BUCKET_EXPRESSION
+                    + ", COUNT(p)) FROM Product p WHERE "
+                    + where(filter)
+                    + " GROUP BY p.brand, p.category, "
+                    + PRICE_BUCKET_EXPRESSION);
+    TypedQuery<ProductFacetCount> query = entityManager.createQuery(jpql, ProductFacetCount.class);
+    bind(query, filter);
+    return query.getResultList();
+  }
+
+  private static String cached(Map<String, String> cache, String key, Supplier<String> builder) {
+    String jpql = cache.get(key);
+    if (jpql == null) {
+      jpql = builder.get();
+      if (cache.size() < MAX_CACHED_QUERIES) {
+        cache.put(key, jpql);
+      }
+    }
+    return jpql;
+  }
+
+  /** Identifies which filters are set, e.g. {@code "category,minPrice,color"}. */
+  private static String shape(ProductQueryRequest filter) {
+    StringBuilder shape = new StringBuilder();
+    if (filter.category() != null) shape.append("category,");
+    if (filter.brand() != null) shape.append("brand,");
+    if (filter.minPrice() != null) shape.append("minPrice,");
+    if (filter.maxPrice() != null) shape.append("maxPrice,");
+    if (filter.status() != null) shape.append("status,");
+    if (filter.color() != null) shape.append("color,");
+    if (filter.size() != null) shape.append("size,");
+    return shape.toString();
+  }
+
+  private static String where(ProductQueryRequest filter) {
+    StringBuilder where =
+        new StringBuilder(
+            "p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED");
+    if (filter.category() != null) where.append(" AND p.category = :category");
+    if (filter.brand() != null) where.append(" AND p.brand = :brand");
+    if (filter.minPrice() != null) where.append(" AND p.price >= :minPrice");
+    if (filter.maxPrice() != null) where.append(" AND p.price <= :maxPrice");
+    if (filter.status() != null) where.append(" AND p.status = :status");
+    if (filter.color() != null || filter.size() != null) {
+      // Color and size must match on the same variant; EXISTS keeps one row per product
+      where.append(" AND EXISTS (SELECT v.id FROM ProductVariant v WHERE v.product = p");
+      if (filter.color() != null) where.append(" AND v.color = :color");
+      if (filter.size() != null) where.append(" AND v.size = :size");
+      where.append(")");
+    }
+    return where.toString();
+  }
+
+  private static void bind(TypedQuery<?> query, ProductQueryRequest filter) {
+    if (filter.category() != null) query.setParameter("category", filter.category());
+    if (filter.brand() != null) query.setParameter("brand", filter.brand());
+    if (filter.minPrice() != null) query.setParameter("minPrice", filter.minPrice());
+    if (filter.maxPrice() != null) query.setParameter("maxPrice", filter.maxPrice());
+    if (filter.status() != null) query.setParameter("status", filter.status());
+    if (filter.color() != null) query.setParameter("color", filter.color());
+    if (filter.size() != null) query.setParameter("size", filter.size());
+  }
+
+  private static String orderBy(Sort sort) {
+    StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+    for (Sort.Order order : sort) {
+      if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+        throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+      }
+      orderBy
+          .append("p.")
+          .append(order.getProperty())
+          .append(order.isAscending() ? " ASC, " : " DESC, ");
+    }
+    // Always finish on the id so that pages are stable
+    return orderBy.append("p.id").toString();
+  }
+
+  private static String priceBucketExpression() {
+    StringBuilder expression = new StringBuilder("CASE");
+    BigDecimal lower = BigDecimal.ZERO;
+    for (int bound : PRICE_BUCKET_BOUNDS) {
+      expression
+          .append(" WHEN p.price < ")
+          .append(bound)
+          .append(" THEN '")
+          .append(lower)
+          .append('-')
+          .append(bound)
+          .append('\'');
+      lower = BigDecimal.valueOf(bound);
+    }
+    return expression.append(" ELSE '").append(lower).append("+' END").toString();
+  }
+}
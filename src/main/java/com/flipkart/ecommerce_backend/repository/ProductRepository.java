@@ -1,36 +1,83 @@
 package com.flipkart.ecommerce_backend.repository;
 
+import com.flipkart.ecommerce_backend.dtos.ProductListingDto;
 import com.flipkart.ecommerce_backend.models.Product;
 import com.flipkart.ecommerce_backend.models.ProductStatus;
+import com.flipkart.ecommerce_backend.search.ProductSearchDocument;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param; // Import Param
-// Import EntityGraph
 import org.springframework.stereotype.Repository;
 
+/**
+ * Paged catalog queries are split in two phases. The {@code find*Ids} methods page over product ids
+ * only (no join, so LIMIT/OFFSET is applied by the database and the count query stays a plain
+ * {@code count}), and {@link #findAllWithVariantsByIdIn} then hydrates that one page of products as
+ * lightweight {@link ProductListingDto} rows in a single {@code IN} query (detail reads use {@link
+ * #findAllWithVariantsByIdIn} instead). Fetch-joining a collection directly in a paged query makes
+ * Hibernate paginate in memory over the whole filtered catalog.
+ *
+ * <p>The {@code find*IdsAfter} methods are the keyset (seek) variants: they continue strictly after
+ * a {@code (createdAt, id)} position instead of skipping an OFFSET, so they are served by the
+ * {@code (…, created_at, id)} indexes at constant cost however deep the client scrolls.
+ *
+ * <p>Arbitrary filter combinations and facet counts come from the {@link ProductQueryRepository}
+ * fragment.
+ */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductQueryRepository {
 
-  // Override findAll to exclude DELETED status by default and fetch variants
+  @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.id IN :ids")
+  List<Product> findAllWithVariantsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Listing rows for the given ids (in no particular order). Selects only the card columns, never
+   * the {@code long_description} TEXT column, and aggregates the variants in the same query.
+   */
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.dtos.ProductListingDto(p.id, p.name, p.price, p.category, p.brand, p.imageUrl, p.status, p.createdAt, MIN(v.price), MAX(v.price), COALESCE(SUM(v.quantity), 0L)) FROM Product p LEFT JOIN p.variants v WHERE p.id IN :ids GROUP BY p.id, p.name, p.price, p.category, p.brand, p.imageUrl, p.status, p.createdAt")
+  List<ProductListingDto> findListingsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  // Excludes DELETED status by default
   @Query(
-      "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
-  @Override
-  Page<Product> findAll(Pageable pageable);
+      value =
+          "SELECT p.id FROM Product p WHERE p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED",
+      countQuery =
+          "SELECT COUNT(p) FROM Product p WHERE p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Page<UUID> findActiveIds(Pageable pageable);
 
   @Query(
-      "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.name LIKE %:keyword% AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
-  Page<Product> findByNameContaining(@Param("keyword") String keyword, Pageable pageable);
+      value =
+          "SELECT p.id FROM Product p WHERE p.name LIKE %:keyword% AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED",
+      countQuery =
+          "SELECT COUNT(p) FROM Product p WHERE p.name LIKE %:keyword% AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Page<UUID> findIdsByNameContaining(@Param("keyword") String keyword, Pageable pageable);
 
   @Query(
-      "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.category = :category AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
-  Page<Product> findByCategory(@Param("category") String category, Pageable pageable);
+      value =
+          "SELECT p.id FROM Product p WHERE p.category = :category AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED",
+      countQuery =
+          "SELECT COUNT(p) FROM Product p WHERE p.category = :category AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Page<UUID> findIdsByCategory(@Param("category") String category, Pageable pageable);
 
   @Query(
-      "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.brand = :brand AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
-  Page<Product> findByBrand(@Param("brand") String brand, Pageable pageable);
+      value =
+          "SELECT p.id FROM Product p WHERE p.brand = :brand AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED",
+      countQuery =
+          "SELECT COUNT(p) FROM Product p WHERE p.brand = :brand AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Page<UUID> findIdsByBrand(@Param("brand") String brand, Pageable pageable);
 
   // This method inherently filters by a specific status, so excluding DELETED might be redundant
   // unless you want to prevent querying *for* DELETED status explicitly.
@@ -38,38 +85,102 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
   // view), remove the check here.
   // Let's assume querying for DELETED is not intended for standard flows:
   @Query(
-      "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.status = :status AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
-  Page<Product> findByStatus(@Param("status") ProductStatus status, Pageable pageable);
+      value =
+          "SELECT p.id FROM Product p WHERE p.status = :status AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED",
+      countQuery =
+          "SELECT COUNT(p) FROM Product p WHERE p.status = :status AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Page<UUID> findIdsByStatus(@Param("status") ProductStatus status, Pageable pageable);
 
   @Query(
-      "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.price >= :minPrice AND p.price <= :maxPrice AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
-  Page<Product> findByPriceBetween(
+      value =
+          "SELECT p.id FROM Product p WHERE p.price >= :minPrice AND p.price <= :maxPrice AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED",
+      countQuery =
+          "SELECT COUNT(p) FROM Product p WHERE p.price >= :minPrice AND p.price <= :maxPrice AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Page<UUID> findIdsByPriceBetween(
       @Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice, Pageable pageable);
 
   @Query(
-      "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.category = :category AND p.price >= :minPrice AND p.price <= :maxPrice AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
-  Page<Product> findByCategoryAndPriceBetween(
+      value =
+          "SELECT p.id FROM Product p WHERE p.category = :category AND p.price >= :minPrice AND p.price <= :maxPrice AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED",
+      countQuery =
+          "SELECT COUNT(p) FROM Product p WHERE p.category = :category AND p.price >= :minPrice AND p.price <= :maxPrice AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Page<UUID> findIdsByCategoryAndPriceBetween(
       @Param("category") String category,
       @Param("minPrice") Double minPrice,
       @Param("maxPrice") Double maxPrice,
       Pageable pageable);
 
   @Query(
-      "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.category = :category AND p.brand = :brand AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
-  Page<Product> findByCategoryAndBrand(
+      value =
+          "SELECT p.id FROM Product p WHERE p.category = :category AND p.brand = :brand AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED",
+      countQuery =
+          "SELECT COUNT(p) FROM Product p WHERE p.category = :category AND p.brand = :brand AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Page<UUID> findIdsByCategoryAndBrand(
       @Param("category") String category, @Param("brand") String brand, Pageable pageable);
 
   @Query(
-      "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.category = :category AND p.brand = :brand AND p.price >= :minPrice AND p.price <= :maxPrice AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
-  Page<Product> findByCategoryAndBrandAndPriceBetween(
+      value =
+          "SELECT p.id FROM Product p WHERE p.category = :category AND p.brand = :brand AND p.price >= :minPrice AND p.price <= :maxPrice AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED",
+      countQuery =
+          "SELECT COUNT(p) FROM Product p WHERE p.category = :category AND p.brand = :brand AND p.price >= :minPrice AND p.price <= :maxPrice AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Page<UUID> findIdsByCategoryAndBrandAndPriceBetween(
       @Param("category") String category,
       @Param("brand") String brand,
       @Param("minPrice") Double minPrice,
       @Param("maxPrice") Double maxPrice,
       Pageable pageable);
 
-  // Consider adding JOIN FETCH for findById if variants are always needed when fetching a single
-  // product
-  // @Query("SELECT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.id = :id")
-  // Optional<Product> findByIdWithVariants(@Param("id") UUID id);
+  @Query(
+      "SELECT p.id FROM Product p WHERE (p.createdAt, p.id) > (:createdAt, :id) AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED ORDER BY p.createdAt, p.id")
+  List<UUID> findActiveIdsAfter(
+      @Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+  @Query(
+      "SELECT p.id FROM Product p WHERE p.category = :category AND (p.createdAt, p.id) > (:createdAt, :id) AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED ORDER BY p.createdAt, p.id")
+  List<UUID> findIdsByCategoryAfter(
+      @Param("category") String category,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") UUID id,
+      Limit limit);
+
+  @Query(
+      "SELECT p.id FROM Product p WHERE p.brand = :brand AND (p.createdAt, p.id) > (:createdAt, :id) AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED ORDER BY p.createdAt, p.id")
+  List<UUID> findIdsByBrandAfter(
+      @Param("brand") String brand,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") UUID id,
+      Limit limit);
+
+  @Query(
+      "SELECT p.id FROM Product p WHERE p.price >= :minPrice AND p.price <= :maxPrice AND (p.createdAt, p.id) > (:createdAt, :id) AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED ORDER BY p.createdAt, p.id")
+  List<UUID> findIdsByPriceBetweenAfter(
+      @Param("minPrice") Double minPrice,
+      @Param("maxPrice") Double maxPrice,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") UUID id,
+      Limit limit);
+
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.search.ProductSearchDocument(p.id, p.name, p.shortDescription, p.brand, p.category) FROM Product p WHERE p.id > :after AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED ORDER BY p.id")
+  List<ProductSearchDocument> findSearchDocumentsAfter(@Param("after") UUID after, Limit limit);
+
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.search.ProductSearchDocument(p.id, p.name, p.shortDescription, p.brand, p.category) FROM Product p WHERE p.id = :id AND p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED")
+  Optional<ProductSearchDocument> findSearchDocumentById(@Param("id") UUID id);
+
+  /**
+   * Forward-only cursor over every non-deleted product, for the catalog export. The fetch size
+   * makes MySQL (with {@code useCursorFetch}) hand out rows in chunks instead of materializing the
+   * whole result. Must be consumed inside a transaction and closed.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT p FROM Product p WHERE p.status != com.flipkart.ecommerce_backend.models.ProductStatus.DELETED ORDER BY p.id")
+  Stream<Product> streamActive();
+
+  @Query("SELECT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.id = :id")
+  Optional<Product> findByIdWithVariants(@Param("id") UUID id);
 }
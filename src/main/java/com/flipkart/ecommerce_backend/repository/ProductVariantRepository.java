@@ -1,10 +1,15 @@
 package com.flipkart.ecommerce_backend.repository;
 
 import com.flipkart.ecommerce_backend.models.ProductVariant;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,8 +28,40 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
           + "WHERE pv.sku = :sku AND p.status <> ProductStatus.DELETED")
   boolean existsBySkuAndProductNotDeleted(@Param("sku") String sku);
 
+  // All SKUs, including those of deleted products: the unique index on sku still covers them
+  @Query("SELECT pv.sku FROM ProductVariant pv")
+  List<String> findAllSkus();
+
   List<ProductVariant> findByProduct_Id(UUID productId);
 
+  @Query("SELECT pv FROM ProductVariant pv WHERE pv.product.id IN :productIds")
+  List<ProductVariant> findByProductIdIn(@Param("productIds") Collection<UUID> productIds);
+
+  @Query("SELECT pv FROM ProductVariant pv JOIN FETCH pv.product WHERE pv.id IN :ids")
+  List<ProductVariant> findAllWithProductByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Takes {@code quantity} units of stock in one conditional statement; returns 0 (and changes
+   * nothing) if fewer are left. The row lock is held until the calling transaction ends.
+   */
+  @Modifying
+  @Query(
+      "UPDATE ProductVariant pv SET pv.quantity = pv.quantity - :quantity, pv.updatedAt = :now WHERE pv.id = :id AND pv.quantity >= :quantity")
+  int decrementStock(
+      @Param("id") UUID id, @Param("quantity") int quantity, @Param("now") Instant now);
+
+  /** Gives back stock taken by {@link #decrementStock} (order failed, cancelled or expired). */
+  @Modifying
+  @Query(
+      "UPDATE ProductVariant pv SET pv.quantity = pv.quantity + :quantity, pv.updatedAt = :now WHERE pv.id = :id")
+  int incrementStock(
+      @Param("id") UUID id, @Param("quantity") int quantity, @Param("now") Instant now);
+
+  /** Current stock, read with a row lock held until the calling transaction ends. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT pv.quantity FROM ProductVariant pv WHERE pv.id = :id")
+  Optional<Integer> findQuantityForUpdate(@Param("id") UUID id);
+
   Optional<ProductVariant> findByProduct_IdAndColorAndSize(
       UUID productId, String color, String size);
 }
@@ -2,10 +2,19 @@ package com.flipkart.ecommerce_backend.repository;
 
 import com.flipkart.ecommerce_backend.models.LocalUser;
 import com.flipkart.ecommerce_backend.models.RefreshToken;
+import com.flipkart.ecommerce_backend.security.store.StoredRefreshToken;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -16,5 +25,31 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
 
   void deleteByToken(String token);
 
-  int deleteAllByExpiryDateBefore(Instant now); // For cleanup
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.expiryDate < :now")
+  int deleteAllByExpiryDateBefore(@Param("now") Instant now); // For cleanup
+
+  /** Deletes at most {@code limit} expired rows; called in a loop, one short transaction each. */
+  @Modifying
+  @Query(
+      value = "DELETE FROM refresh_tokens WHERE expiry_date < :now LIMIT :limit",
+      nativeQuery = true)
+  int deleteExpiredChunk(@Param("now") Instant now, @Param("limit") int limit);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.token IN :tokens")
+  int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId")
+  int deleteByUserId(@Param("userId") UUID userId);
+
+  /** Every unexpired token, streamed. Must be consumed inside a transaction and closed. */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.security.store.StoredRefreshToken(t.token, t.user.id, t.expiryDate) FROM RefreshToken t WHERE t.expiryDate > :now")
+  Stream<StoredRefreshToken> streamUnexpired(@Param("now") Instant now);
 }
@@ -0,0 +1,53 @@
+package com.flipkart.ecommerce_backend.repository;
+
+import com.flipkart.ecommerce_backend.inventory.ReservationDeadline;
+import com.flipkart.ecommerce_backend.models.StockReservation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Expired holds are found by order id (from the in-memory expiry index) or through the {@code
+ * expires_at} index; nothing here scans the table except the startup rebuild.
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+  /**
+   * Locks the given reservations that are still held and due, and returns their order ids. Rows
+   * released meanwhile (by another instance, or by payment) are skipped.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "SELECT r.orderId FROM StockReservation r WHERE r.orderId IN :orderIds AND r.expiresAt <= :now ORDER BY r.orderId")
+  List<Long> lockExpired(@Param("orderIds") Collection<Long> orderIds, @Param("now") Instant now);
+
+  /** Oldest due reservations, by range scan of the {@code expires_at} index. */
+  @Query("SELECT r.orderId FROM StockReservation r WHERE r.expiresAt <= :now ORDER BY r.expiresAt")
+  List<Long> findExpiredOrderIds(@Param("now") Instant now, Limit limit);
+
+  @Modifying
+  @Query("DELETE FROM StockReservation r WHERE r.orderId IN :orderIds")
+  int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+  /** Every reservation, streamed. Must be consumed inside a transaction and closed. */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.inventory.ReservationDeadline(r.orderId, r.expiresAt) FROM StockReservation r")
+  Stream<ReservationDeadline> streamAll();
+}
@@ -1,14 +1,47 @@
 package com.flipkart.ecommerce_backend.repository;
 
-import com.flipkart.ecommerce_backend.models.LocalUser;
+import com.flipkart.ecommerce_backend.dtos.OrderDto;
+import com.flipkart.ecommerce_backend.dtos.OrderItemDto;
+import com.flipkart.ecommerce_backend.inventory.VariantQuantity;
 import com.flipkart.ecommerce_backend.models.WebOrder;
-import org.springframework.data.domain.Page;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Order history is read as DTOs in two queries: {@link #findOrderDtosByUserId} pages over the
+ * user's orders joined to their address, and {@link #findItemDtosByOrderIdIn} loads the line items
+ * and product summaries of that page in one {@code IN} query. No entity is loaded, so nothing is
+ * lazily fetched per order or per line.
+ */
 @Repository
 public interface WebOrderRepository extends JpaRepository<WebOrder, Long> {
 
-  Page<WebOrder> findByLocalUser(LocalUser localUser, Pageable pageable);
+  /** Page of orders without a count query; the sort may only use {@link WebOrder} properties. */
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.dtos.OrderDto(o.id, o.status, o.total, o.orderDate, a.id, a.addressLine1, a.addressLine2, a.city, a.state, a.country, a.postalCode) FROM WebOrder o JOIN o.address a WHERE o.localUser.id = :userId")
+  List<OrderDto> findOrderDtosByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.dtos.OrderItemDto(q.weborder.id, q.id, p.id, q.variant.id, p.name, p.imageUrl, COALESCE(q.unitPrice, p.price), q.quantity) FROM WebOrderQuantities q JOIN q.product p WHERE q.weborder.id IN :orderIds ORDER BY q.id")
+  List<OrderItemDto> findItemDtosByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+  /**
+   * Units per variant over the lines of the given orders. Unordered: the database sorts the binary
+   * ids differently from {@link UUID#compareTo}, so callers sort them for the lock order.
+   */
+  @Query(
+      "SELECT new com.flipkart.ecommerce_backend.inventory.VariantQuantity(q.variant.id, SUM(q.quantity)) FROM WebOrderQuantities q WHERE q.weborder.id IN :orderIds AND q.variant IS NOT NULL GROUP BY q.variant.id")
+  List<VariantQuantity> sumQuantitiesByVariant(@Param("orderIds") Collection<Long> orderIds);
+
+  @Modifying
+  @Query(
+      "UPDATE WebOrder o SET o.status = com.flipkart.ecommerce_backend.models.OrderStatus.EXPIRED WHERE o.id IN :orderIds AND o.status = com.flipkart.ecommerce_backend.models.OrderStatus.PENDING")
+  int markExpired(@Param("orderIds") Collection<Long> orderIds);
 }
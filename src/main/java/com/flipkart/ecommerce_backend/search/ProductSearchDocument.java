@@ -0,0 +1,7 @@
+package com.flipkart.ecommerce_backend.search;
+
+import java.util.UUID;
+
+/** The subset of product columns that is tokenized into the {@link ProductSearchIndex}. */
+public record ProductSearchDocument(
+    UUID id, String name, String shortDescription, String brand, String category) {}
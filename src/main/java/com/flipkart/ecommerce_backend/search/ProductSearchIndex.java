@@ -0,0 +1,283 @@
+package com.flipkart.ecommerce_backend.search;
+
+import com.flipkart.ecommerce_backend.events.ProductChangedEvent;
+import com.flipkart.ecommerce_backend.repository.ProductRepository;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory inverted index over product name, short description, brand and category.
+ *
+ * <p>Text is lower-cased, stripped of accents and split on anything that is not a letter or digit.
+ * Each term maps to the products containing it, with a weight that favours matches in the name over
+ * brand, category and description. A query matches a product only if every query term matches one
+ * of its terms exactly or as a prefix; products are ranked by the summed, IDF-scaled weights, with
+ * prefix matches counting less than exact ones.
+ *
+ * <p>The index is built from the product table once the application is ready and then kept current
+ * from committed {@link ProductChangedEvent}s. Until the first build completes {@link #isReady()}
+ * is false and callers are expected to fall back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+  private static final int REBUILD_BATCH_SIZE = 1000;
+  private static final int MIN_PREFIX_LENGTH = 2;
+  private static final int MAX_PREFIX_EXPANSIONS = 512;
+  private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+  private static final float NAME_WEIGHT = 3.0f;
+  private static final float BRAND_WEIGHT = 2.0f;
+  private static final float CATEGORY_WEIGHT = 1.5f;
+  private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+  private final ProductRepository productRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // term -> (product id -> weight); sorted so that prefix queries are a sub-map range scan
+  private final NavigableMap<String, Map<UUID, Float>> postings = new TreeMap<>();
+  // product id -> its terms, needed to remove a product's postings on update or delete
+  private final Map<UUID, Set<String>> documentTerms = new HashMap<>();
+
+  // Products changed while a rebuild was reading the table; re-read once it finishes
+  private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+  private volatile boolean rebuilding;
+  private volatile boolean ready;
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    long start = System.currentTimeMillis();
+    ready = false;
+    rebuilding = true;
+    changedDuringRebuild.clear();
+    lock.writeLock().lock();
+    try {
+      postings.clear();
+      documentTerms.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    UUID after = new UUID(0L, 0L);
+    int indexed = 0;
+    List<ProductSearchDocument> batch;
+    do {
+      batch = productRepository.findSearchDocumentsAfter(after, Limit.of(REBUILD_BATCH_SIZE));
+      lock.writeLock().lock();
+      try {
+        batch.forEach(this::indexInternal);
+      } finally {
+        lock.writeLock().unlock();
+      }
+      indexed += batch.size();
+      if (!batch.isEmpty()) {
+        after = batch.get(batch.size() - 1).id();
+      }
+    } while (batch.size() == REBUILD_BATCH_SIZE);
+
+    rebuilding = false;
+    changedDuringRebuild.forEach(this::refresh);
+    changedDuringRebuild.clear();
+    ready = true;
+    log.info(
+        "Product search index built: {} products in {} ms",
+        indexed,
+        System.currentTimeMillis() - start);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onProductChanged(ProductChangedEvent event) {
+    if (rebuilding) {
+      changedDuringRebuild.add(event.productId());
+    }
+    refresh(event.productId());
+  }
+
+  /** Re-reads one product from the database and replaces (or removes) its postings. */
+  public void refresh(UUID productId) {
+    ProductSearchDocument document =
+        productRepository.findSearchDocumentById(productId).orElse(null);
+    lock.writeLock().lock();
+    try {
+      if (document == null) {
+        removeInternal(productId);
+      } else {
+        indexInternal(document);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Indexes products whose data is already at hand, e.g. right after a bulk import committed. */
+  public void indexAll(Collection<ProductSearchDocument> documents) {
+    if (rebuilding) {
+      documents.forEach(document -> changedDuringRebuild.add(document.id()));
+    }
+    lock.writeLock().lock();
+    try {
+      documents.forEach(this::indexInternal);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns one page of matching product ids in relevance order (ties broken by id, so paging is
+   * stable). Any sort requested by the {@code pageable} is ignored.
+   */
+  public Page<UUID> search(String query, Pageable pageable) {
+    List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+    if (queryTerms.isEmpty()) {
+      return Page.empty(pageable);
+    }
+
+    Map<UUID, Float> scores = null;
+    lock.readLock().lock();
+    try {
+      for (String term : queryTerms) {
+        Map<UUID, Float> termScores = scoreTerm(term);
+        if (scores == null) {
+          scores = termScores;
+        } else {
+          scores.keySet().retainAll(termScores.keySet());
+          scores.replaceAll((id, score) -> score + termScores.get(id));
+        }
+        if (scores.isEmpty()) {
+          break;
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    List<Map.Entry<UUID, Float>> ranked = new ArrayList<>(scores.entrySet());
+    ranked.sort(
+        Map.Entry.<UUID, Float>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+
+    List<UUID> ids = ranked.stream().map(Map.Entry::getKey).toList();
+    if (pageable.isUnpaged()) {
+      return new PageImpl<>(ids, pageable, ids.size());
+    }
+    int from = (int) Math.min(pageable.getOffset(), ids.size());
+    int to = Math.min(from + pageable.getPageSize(), ids.size());
+    return new PageImpl<>(ids.subList(from, to), pageable, ids.size());
+  }
+
+  /** Scores every product containing {@code term}, or a term it is a prefix of. */
+  private Map<UUID, Float> scoreTerm(String term) {
+    Map<UUID, Float> scores = new HashMap<>();
+    int documentCount = documentTerms.size();
+    NavigableMap<String, Map<UUID, Float>> matches =
+        term.length() < MIN_PREFIX_LENGTH
+            ? postings.subMap(term, true, term, true)
+            : postings.subMap(term, true, term + Character.MAX_VALUE, false);
+
+    int expansions = 0;
+    for (Map.Entry<String, Map<UUID, Float>> match : matches.entrySet()) {
+      if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+        break;
+      }
+      Map<UUID, Float> products = match.getValue();
+      float idf = (float) Math.log(1.0 + (double) documentCount / products.size());
+      float factor = match.getKey().equals(term) ? idf : idf * PREFIX_MATCH_FACTOR;
+      products.forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+    }
+    return scores;
+  }
+
+  // Callers must hold the write lock
+  private void indexInternal(ProductSearchDocument document) {
+    removeInternal(document.id());
+    Map<String, Float> weights = new HashMap<>();
+    addField(weights, document.name(), NAME_WEIGHT);
+    addField(weights, document.brand(), BRAND_WEIGHT);
+    addField(weights, document.category(), CATEGORY_WEIGHT);
+    addField(weights, document.shortDescription(), DESCRIPTION_WEIGHT);
+    if (weights.isEmpty()) {
+      return;
+    }
+    weights.forEach(
+        (term, weight) ->
+            postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), weight));
+    documentTerms.put(document.id(), weights.keySet());
+  }
+
+  // Callers must hold the write lock
+  private void removeInternal(UUID productId) {
+    Set<String> terms = documentTerms.remove(productId);
+    if (terms == null) {
+      return;
+    }
+    for (String term : terms) {
+      Map<UUID, Float> products = postings.get(term);
+      if (products != null) {
+        products.remove(productId);
+        if (products.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+  }
+
+  private static void addField(Map<String, Float> weights, String text, float fieldWeight) {
+    for (String term : tokenize(text)) {
+      weights.merge(term, fieldWeight, Float::sum);
+    }
+  }
+
+  static List<String> tokenize(String text) {
+    if (text == null || text.isBlank()) {
+      return Collections.emptyList();
+    }
+    String normalized =
+        COMBINING_MARKS
+            .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+    List<String> tokens = new ArrayList<>();
+    for (String token : TOKEN_SEPARATOR.split(normalized)) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+}
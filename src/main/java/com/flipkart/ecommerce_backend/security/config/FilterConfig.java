@@ -1,20 +1,26 @@
 package com.flipkart.ecommerce_backend.security.config;
 
+import com.flipkart.ecommerce_backend.interceptors.RateLimiterInterceptor;
+import com.flipkart.ecommerce_backend.security.filter.RequestBodyCachingFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 
-import com.flipkart.ecommerce_backend.security.filter.RequestBodyCachingFilter;
-
 @Configuration
 public class FilterConfig {
-    
-    public FilterRegistrationBean<RequestBodyCachingFilter> requestBodyCachingFilterRegistration(){
-	FilterRegistrationBean<RequestBodyCachingFilter> registration = new FilterRegistrationBean<>();
-	registration.setFilter(new RequestBodyCachingFilter());
-	registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
-	registration.addUrlPatterns("/**");
-	return registration;
-    }
 
+  @Value("${app.request-body-cache.max-bytes}")
+  private int maxCachedBytes;
+
+  /** Body caching is only applied to the routes whose body the rate limiter reads. */
+  @Bean
+  public FilterRegistrationBean<RequestBodyCachingFilter> requestBodyCachingFilterRegistration() {
+    FilterRegistrationBean<RequestBodyCachingFilter> registration =
+        new FilterRegistrationBean<>(new RequestBodyCachingFilter(maxCachedBytes));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    registration.addUrlPatterns(RateLimiterInterceptor.RATE_LIMITED_PATHS);
+    return registration;
+  }
 }
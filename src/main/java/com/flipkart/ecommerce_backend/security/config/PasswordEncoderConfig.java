@@ -1,15 +1,49 @@
 package com.flipkart.ecommerce_backend.security.config;
 
+import com.flipkart.ecommerce_backend.security.crypto.BoundedPasswordEncoder;
+import com.flipkart.ecommerce_backend.security.crypto.CalibratedBCryptPasswordEncoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+/**
+ * Stored hashes are prefixed with their algorithm id ({@code {bcrypt}$2a$12$...}) and carry their
+ * cost, so the algorithm or the cost can change without a forced reset: a hash that does not match
+ * the current settings is re-encoded on the next successful login (see {@code
+ * UserDetailsPasswordService}). Hashes from before the prefix was introduced are read as bcrypt.
+ */
 @Configuration
 public class PasswordEncoderConfig {
 
+  private static final String BCRYPT = "bcrypt";
+
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      MeterRegistry meterRegistry,
+      @Value("${app.security.password-hashing.threads}") int threads,
+      @Value("${app.security.password-hashing.queue-capacity}") int queueCapacity,
+      @Value("${app.security.password-hashing.cost}") int fixedCost,
+      @Value("${app.security.password-hashing.target-ms}") long targetMs,
+      @Value("${app.security.password-hashing.min-cost}") int minCost,
+      @Value("${app.security.password-hashing.max-cost}") int maxCost) {
+    CalibratedBCryptPasswordEncoder bcrypt =
+        fixedCost > 0
+            ? new CalibratedBCryptPasswordEncoder(fixedCost)
+            : CalibratedBCryptPasswordEncoder.calibrate(
+                Duration.ofMillis(targetMs), minCost, maxCost);
+    Gauge.builder("password.hash.cost", bcrypt, CalibratedBCryptPasswordEncoder::getCost)
+        .tag("algorithm", BCRYPT)
+        .register(meterRegistry);
+
+    DelegatingPasswordEncoder delegating =
+        new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+    delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+    return new BoundedPasswordEncoder(delegating, threads, queueCapacity, meterRegistry);
   }
 }
@@ -0,0 +1,54 @@
+package com.flipkart.ecommerce_backend.security.config;
+
+import com.flipkart.ecommerce_backend.security.ratelimit.EmbeddedBucketProxyManager;
+import com.flipkart.ecommerce_backend.security.ratelimit.JdbcBucketProxyManager;
+import com.flipkart.ecommerce_backend.security.ratelimit.LocalRateLimitBucketStore;
+import com.flipkart.ecommerce_backend.security.ratelimit.ProxyRateLimitBucketStore;
+import com.flipkart.ecommerce_backend.security.ratelimit.RateLimitBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Picks the rate limit bucket backend from {@code app.rate-limit.backend}. */
+@Configuration
+public class RateLimitBackendConfig {
+
+  @Value("${app.rate-limit.max-buckets}")
+  private long maxBuckets;
+
+  @Value("${app.rate-limit.idle-eviction-ms}")
+  private long idleEvictionMs;
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "app.rate-limit.backend",
+      havingValue = "local",
+      matchIfMissing = true)
+  public RateLimitBucketStore localRateLimitBucketStore(MeterRegistry meterRegistry) {
+    return new LocalRateLimitBucketStore(
+        maxBuckets, Duration.ofMillis(idleEvictionMs), meterRegistry);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "jdbc")
+  public JdbcBucketProxyManager jdbcBucketProxyManager(DataSource dataSource) {
+    return new JdbcBucketProxyManager(dataSource, Duration.ofMillis(idleEvictionMs));
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "jdbc")
+  public RateLimitBucketStore jdbcRateLimitBucketStore(JdbcBucketProxyManager proxyManager) {
+    return new ProxyRateLimitBucketStore(proxyManager);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "embedded")
+  public RateLimitBucketStore embeddedRateLimitBucketStore() {
+    return new ProxyRateLimitBucketStore(
+        new EmbeddedBucketProxyManager(maxBuckets, Duration.ofMillis(idleEvictionMs)));
+  }
+}
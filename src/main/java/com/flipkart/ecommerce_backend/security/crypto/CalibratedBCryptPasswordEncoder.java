@@ -0,0 +1,68 @@
+package com.flipkart.ecommerce_backend.security.crypto;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder whose cost is chosen by timing this host at startup: the highest cost whose hash
+ * stays within the target latency, clamped to {@code [minCost, maxCost]}. The cost is recorded in
+ * every hash ({@code $2a$<cost>$...}), and {@link #upgradeEncoding} reports any hash whose cost
+ * differs from the current one, in either direction, so it is rehashed on the next successful
+ * login.
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+  private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+  private static final int BASELINE_COST = 10;
+  private static final int SAMPLES = 3;
+
+  @Getter private final int cost;
+
+  public CalibratedBCryptPasswordEncoder(int cost) {
+    super(cost);
+    this.cost = cost;
+  }
+
+  public static CalibratedBCryptPasswordEncoder calibrate(
+      Duration target, int minCost, int maxCost) {
+    long baselineNanos = timeHash(BASELINE_COST);
+    // Each cost step doubles the work
+    double steps = Math.log((double) target.toNanos() / baselineNanos) / Math.log(2);
+    int cost = Math.max(minCost, Math.min(maxCost, BASELINE_COST + (int) Math.floor(steps)));
+    log.info(
+        "Calibrated BCrypt cost {} (cost {} takes {} ms on this host, target {} ms)",
+        cost,
+        BASELINE_COST,
+        Duration.ofNanos(baselineNanos).toMillis(),
+        target.toMillis());
+    return new CalibratedBCryptPasswordEncoder(cost);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null) {
+      return false;
+    }
+    Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+    return matcher.find() && Integer.parseInt(matcher.group(1)) != cost;
+  }
+
+  // Best of a few runs after a warm-up, to keep JIT and scheduling noise out
+  private static long timeHash(int cost) {
+    String salt = BCrypt.gensalt(cost);
+    BCrypt.hashpw("calibration", salt);
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+      BCrypt.hashpw("calibration", salt);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return best;
+  }
+}
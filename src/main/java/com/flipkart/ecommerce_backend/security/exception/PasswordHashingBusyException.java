@@ -0,0 +1,10 @@
+package com.flipkart.ecommerce_backend.security.exception;
+
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+
+/** Thrown when the password hashing executor is saturated; mapped to 429. */
+public class PasswordHashingBusyException extends RateLimitException {
+  public PasswordHashingBusyException(String message) {
+    super(ErrorCode.PASSWORD_HASHING_BUSY, message);
+  }
+}
@@ -1,6 +1,7 @@
 package com.flipkart.ecommerce_backend.security.filter;
 
 import com.flipkart.ecommerce_backend.security.exception.TokenException;
+import com.flipkart.ecommerce_backend.security.principal.JwtPrincipalFactory;
 import com.flipkart.ecommerce_backend.services.TokenService;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
@@ -10,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -29,6 +31,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
   // Dependencies injected via constructor, using interfaces
   private final TokenService tokenService;
   private final UserDetailsService userDetailsService; // Depend on the interface
+  private final JwtPrincipalFactory jwtPrincipalFactory;
+
+  // Build the principal from the token's claims instead of loading the user on every request
+  @Value("${app.jwt.stateless-principal}")
+  private boolean statelessPrincipal;
 
   private static final String AUTHORIZATION_HEADER = "Authorization";
   private static final String BEARER_PREFIX = "Bearer ";
@@ -51,9 +58,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         Claims claims = tokenService.extractClaims(jwt);
         String username = claims.getSubject(); // Get username from claims
 
-        // 4. Load user details if username is extracted
+        // 4. Rebuild the principal from the claims, or load user details for older tokens
         if (username != null) {
-          UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+          UserDetails userDetails =
+              statelessPrincipal
+                  ? jwtPrincipalFactory
+                      .fromClaims(claims)
+                      .<UserDetails>map(principal -> principal)
+                      .orElseGet(() -> this.userDetailsService.loadUserByUsername(username))
+                  : this.userDetailsService.loadUserByUsername(username);
 
           // 5. Create authentication token if user is found
           UsernamePasswordAuthenticationToken authentication =
@@ -1,30 +1,69 @@
 package com.flipkart.ecommerce_backend.security.filter;
 
-import java.io.IOException;
-
-import org.springframework.stereotype.Component;
-
 import com.flipkart.ecommerce_backend.wrapper.CachedBodyHttpServletRequest;
-
-import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.ServletRequest;
-import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Buffers the request body so it can be read more than once. Registered by {@code FilterConfig}
+ * only for the routes that need it (the rate limited ones); every other request streams through
+ * untouched.
+ *
+ * <p>Bodies larger than {@code maxCachedBytes} are rejected with 413 rather than passed through
+ * unbuffered: the rate limiter needs the body, and these routes only take small JSON documents. A
+ * known {@code Content-Length} is checked before anything is read and sizes the buffer exactly.
+ */
+@Slf4j
+public class RequestBodyCachingFilter extends OncePerRequestFilter {
 
-@Component
-public class RequestBodyCachingFilter implements Filter{
+  private final int maxCachedBytes;
 
-    @Override
-    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
-	    throws IOException, ServletException {
-	if(request instanceof HttpServletRequest) {
-	    CachedBodyHttpServletRequest wrappedRequest = new CachedBodyHttpServletRequest((HttpServletRequest)request);
-	    chain.doFilter(wrappedRequest, response);
-	}
-	else {
-	    chain.doFilter(request, response);
-	}
+  public RequestBodyCachingFilter(int maxCachedBytes) {
+    this.maxCachedBytes = maxCachedBytes;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    long contentLength = request.getContentLengthLong();
+    if (contentLength > maxCachedBytes) {
+      reject(request, response, contentLength);
+      return;
+    }
+    byte[] body = read(request.getInputStream(), (int) contentLength);
+    if (body == null) {
+      reject(request, response, contentLength);
+      return;
     }
+    chain.doFilter(new CachedBodyHttpServletRequest(request, body), response);
+  }
+
+  /** Reads the whole body, or returns null once it exceeds the cap. */
+  private byte[] read(InputStream input, int contentLength) throws IOException {
+    if (contentLength >= 0) {
+      // Read straight into an exactly sized array
+      return input.readNBytes(contentLength);
+    }
+    byte[] body = input.readNBytes(maxCachedBytes + 1);
+    return body.length > maxCachedBytes ? null : body;
+  }
+
+  private void reject(HttpServletRequest request, HttpServletResponse response, long contentLength)
+      throws IOException {
+    log.warn(
+        "Rejecting {} {}: body of {} bytes exceeds the {} byte limit",
+        request.getMethod(),
+        request.getRequestURI(),
+        contentLength >= 0 ? contentLength : "unknown",
+        maxCachedBytes);
+    response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+  }
 }
@@ -0,0 +1,97 @@
+package com.flipkart.ecommerce_backend.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.SecretKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * HMAC keys for access tokens, decoded once at startup, and the single thread-safe {@link
+ * JwtParser} that verifies them.
+ *
+ * <p>New tokens are signed with {@code app.jwt.secret} and carry {@code app.jwt.key-id} in their
+ * {@code kid} header. To rotate, move the old secret to {@code app.jwt.previous-keys} (a
+ * comma-separated list of {@code kid:base64-secret}) and configure a new secret and key id; tokens
+ * signed with the old key keep verifying until they expire. Tokens without a {@code kid}, issued
+ * before key ids were introduced, are verified with the current key.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+  @Value("${app.jwt.secret}")
+  private String secret;
+
+  @Value("${app.jwt.key-id}")
+  private String keyId;
+
+  @Value("${app.jwt.previous-keys:}")
+  private String previousKeys;
+
+  private SecretKey signingKey;
+  private JwtParser parser;
+
+  @PostConstruct
+  public void init() {
+    signingKey = decode(secret);
+    Map<String, SecretKey> verificationKeys = new HashMap<>();
+    verificationKeys.put(keyId, signingKey);
+    if (StringUtils.hasText(previousKeys)) {
+      for (String entry : previousKeys.split(",")) {
+        String[] parts = entry.trim().split(":", 2);
+        if (parts.length != 2 || !StringUtils.hasText(parts[0])) {
+          throw new IllegalStateException(
+              "app.jwt.previous-keys entries must be kid:base64-secret");
+        }
+        verificationKeys.putIfAbsent(parts[0], decode(parts[1]));
+      }
+    }
+    parser =
+        Jwts.parser()
+            .keyLocator(
+                new LocatorAdapter<Key>() {
+                  @Override
+                  protected Key locate(JwsHeader header) {
+                    String kid = header.getKeyId();
+                    if (kid == null) {
+                      return signingKey;
+                    }
+                    SecretKey key = verificationKeys.get(kid);
+                    if (key == null) {
+                      throw new UnsupportedJwtException("Unknown JWT key id: " + kid);
+                    }
+                    return key;
+                  }
+                })
+            .build();
+    log.info("JWT key ring initialised with {} verification key(s)", verificationKeys.size());
+  }
+
+  public String getSigningKeyId() {
+    return keyId;
+  }
+
+  public SecretKey getSigningKey() {
+    return signingKey;
+  }
+
+  public JwtParser getParser() {
+    return parser;
+  }
+
+  private static SecretKey decode(String base64Secret) {
+    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret.trim()));
+  }
+}
@@ -0,0 +1,86 @@
+package com.flipkart.ecommerce_backend.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies access tokens and remembers the claims of tokens that passed, so that a client sending
+ * the same bearer token again skips the HMAC verification and JSON parsing.
+ *
+ * <p>Entries are keyed by the complete token string: a token is only served from the cache if it is
+ * byte-for-byte one that was verified before. Each entry expires at the token's own {@code exp} and
+ * the cache is bounded by {@code app.jwt.claims-cache.max-size}. Tokens without an expiry are never
+ * cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtVerifier {
+
+  private final JwtKeyRing keyRing;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.jwt.claims-cache.max-size}")
+  private long maxSize;
+
+  private Cache<String, Claims> verifiedClaims;
+
+  @PostConstruct
+  public void init() {
+    verifiedClaims =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwtClaims");
+  }
+
+  /**
+   * Returns the verified claims of {@code token}.
+   *
+   * @throws JwtException if the token is malformed, unsupported, wrongly signed or expired
+   */
+  public Claims verify(String token) {
+    Claims cached = verifiedClaims.getIfPresent(token);
+    if (cached != null && cached.getExpiration().after(new Date())) {
+      return cached;
+    }
+    Claims claims = keyRing.getParser().parseSignedClaims(token).getPayload();
+    if (claims.getExpiration() != null) {
+      verifiedClaims.put(token, claims);
+    }
+    return claims;
+  }
+
+  private static class UntilTokenExpiry implements Expiry<String, Claims> {
+
+    @Override
+    public long expireAfterCreate(String token, Claims claims, long currentTime) {
+      long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String token, Claims claims, long currentTime, long currentDuration) {
+      return expireAfterCreate(token, claims, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String token, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
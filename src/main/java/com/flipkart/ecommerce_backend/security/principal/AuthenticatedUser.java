@@ -0,0 +1,14 @@
+package com.flipkart.ecommerce_backend.security.principal;
+
+import java.util.UUID;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * The authenticated principal of a request: either the {@code LocalUser} entity (password login, or
+ * tokens that predate the user-id claim) or a {@link JwtPrincipal} rebuilt from token claims.
+ * Controllers should depend on this type rather than on {@code LocalUser}.
+ */
+public interface AuthenticatedUser extends UserDetails {
+
+  UUID getId();
+}
@@ -0,0 +1,53 @@
+package com.flipkart.ecommerce_backend.security.principal;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Principal built from a verified access token without loading the user. The account status flags
+ * were checked against {@link UserSecurityState} when it was built, so they all report true here.
+ */
+public record JwtPrincipal(UUID id, String username, List<GrantedAuthority> authorities)
+    implements AuthenticatedUser {
+
+  @Override
+  public UUID getId() {
+    return id;
+  }
+
+  @Override
+  public String getUsername() {
+    return username;
+  }
+
+  @Override
+  public List<GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+
+  @Override
+  public String getPassword() {
+    return null;
+  }
+
+  @Override
+  public boolean isAccountNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isAccountNonLocked() {
+    return true;
+  }
+
+  @Override
+  public boolean isCredentialsNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+}
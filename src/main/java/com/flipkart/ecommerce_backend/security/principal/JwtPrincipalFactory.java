@@ -0,0 +1,120 @@
+package com.flipkart.ecommerce_backend.security.principal;
+
+import com.flipkart.ecommerce_backend.events.UserChangedEvent;
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+import com.flipkart.ecommerce_backend.repository.LocalUserRepository;
+import com.flipkart.ecommerce_backend.security.exception.TokenException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * Rebuilds the request principal from access token claims ({@code sub}, {@code auth}, {@code uid})
+ * instead of loading the user and its roles on every request.
+ *
+ * <p>Revocation stays possible through the {@code ver} claim: it must equal the user's current
+ * security version, which is bumped on password and role changes and when an account is disabled.
+ * The version and the enabled / locked flags come from a small cache whose entries live for {@code
+ * app.jwt.user-state.ttl-ms}, so changes made on another instance, or directly in the database,
+ * take effect within that time; local changes evict the entry on commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtPrincipalFactory {
+
+  public static final String USER_ID_CLAIM = "uid";
+  public static final String VERSION_CLAIM = "ver";
+  public static final String AUTHORITIES_CLAIM = "auth";
+
+  private final LocalUserRepository userRepository;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.jwt.user-state.ttl-ms}")
+  private long ttlMs;
+
+  @Value("${app.jwt.user-state.max-size}")
+  private long maxSize;
+
+  private LoadingCache<UUID, Optional<UserSecurityState>> states;
+
+  @PostConstruct
+  public void init() {
+    states =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .recordStats()
+            .build(userRepository::findSecurityStateById);
+    CaffeineCacheMetrics.monitor(meterRegistry, states, "userSecurityState");
+  }
+
+  /**
+   * Returns the principal for verified {@code claims}, or empty if the token predates the user-id
+   * and version claims and the user has to be loaded instead.
+   *
+   * @throws TokenException if the user no longer exists, is disabled or locked, or the token was
+   *     revoked by a security version bump
+   */
+  public Optional<JwtPrincipal> fromClaims(Claims claims) {
+    String userId = claims.get(USER_ID_CLAIM, String.class);
+    Integer version = claims.get(VERSION_CLAIM, Integer.class);
+    if (userId == null || version == null) {
+      return Optional.empty();
+    }
+    UUID id = UUID.fromString(userId);
+    UserSecurityState state =
+        securityState(id)
+            .orElseThrow(
+                () -> new TokenException(ErrorCode.TOKEN_INVALID, "JWT user no longer exists"));
+    if (!state.enabled() || !state.accountNonLocked()) {
+      throw new TokenException(ErrorCode.TOKEN_INVALID, "JWT user is disabled or locked");
+    }
+    if (state.securityVersion() != version) {
+      throw new TokenException(ErrorCode.TOKEN_INVALID, "JWT token has been revoked");
+    }
+    return Optional.of(new JwtPrincipal(id, claims.getSubject(), authorities(claims)));
+  }
+
+  /**
+   * The user's security state as of at most {@code app.jwt.user-state.ttl-ms} ago, or empty if the
+   * user no longer exists.
+   */
+  public Optional<UserSecurityState> securityState(UUID userId) {
+    return states.get(userId);
+  }
+
+  // Password changes do not always run in a transaction, hence the fallback
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onUserChanged(UserChangedEvent event) {
+    log.debug("Evicting cached security state for user ID: {}", event.userId());
+    states.invalidate(event.userId());
+  }
+
+  private static List<GrantedAuthority> authorities(Claims claims) {
+    String authorities = claims.get(AUTHORITIES_CLAIM, String.class);
+    if (!StringUtils.hasText(authorities)) {
+      return List.of();
+    }
+    return Arrays.stream(authorities.split(","))
+        .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+        .toList();
+  }
+}
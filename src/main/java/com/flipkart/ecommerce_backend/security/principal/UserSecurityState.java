@@ -0,0 +1,4 @@
+package com.flipkart.ecommerce_backend.security.principal;
+
+/** The parts of a user that decide whether its outstanding access tokens are still honoured. */
+public record UserSecurityState(int securityVersion, boolean enabled, boolean accountNonLocked) {}
@@ -0,0 +1,82 @@
+package com.flipkart.ecommerce_backend.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-process stand-in for a shared bucket store: serialized bucket state in a bounded,
+ * idle-expiring map, updated by compare-and-swap exactly like a remote key-value store would be.
+ * Lets tests and single-node setups exercise the proxy code path without a database.
+ */
+public class EmbeddedBucketProxyManager extends AbstractCompareAndSwapBasedProxyManager<String> {
+
+  private final Cache<String, byte[]> states;
+
+  public EmbeddedBucketProxyManager(long maxBuckets, Duration idleEviction) {
+    super(ClientSideConfig.getDefault());
+    this.states =
+        Caffeine.newBuilder().maximumSize(maxBuckets).expireAfterAccess(idleEviction).build();
+  }
+
+  @Override
+  protected CompareAndSwapOperation beginCompareAndSwapOperation(String key) {
+    return new CompareAndSwapOperation() {
+      @Override
+      public Optional<byte[]> getStateData() {
+        return Optional.ofNullable(states.getIfPresent(key));
+      }
+
+      @Override
+      public boolean compareAndSwap(
+          byte[] originalData, byte[] newData, RemoteBucketState newState) {
+        // byte[] compares by identity, which is exactly the CAS semantics needed here
+        return originalData == null
+            ? states.asMap().putIfAbsent(key, newData) == null
+            : states.asMap().replace(key, originalData, newData);
+      }
+    };
+  }
+
+  @Override
+  protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String key) {
+    // The map never blocks, so the async variant is the sync one with completed futures
+    CompareAndSwapOperation operation = beginCompareAndSwapOperation(key);
+    return new AsyncCompareAndSwapOperation() {
+      @Override
+      public CompletableFuture<Optional<byte[]>> getStateData() {
+        return CompletableFuture.completedFuture(operation.getStateData());
+      }
+
+      @Override
+      public CompletableFuture<Boolean> compareAndSwap(
+          byte[] originalData, byte[] newData, RemoteBucketState newState) {
+        return CompletableFuture.completedFuture(
+            operation.compareAndSwap(originalData, newData, newState));
+      }
+    };
+  }
+
+  @Override
+  protected CompletableFuture<Void> removeAsync(String key) {
+    removeProxy(key);
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public void removeProxy(String key) {
+    states.invalidate(key);
+  }
+
+  @Override
+  public boolean isAsyncModeSupported() {
+    return true;
+  }
+}
@@ -0,0 +1,167 @@
+package com.flipkart.ecommerce_backend.security.ratelimit;
+
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.AbstractSelectForUpdateBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.LockAndGetResult;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.SelectForUpdateBasedTransaction;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Keeps bucket state in the {@code rate_limit_bucket} table (V8), so all instances share one limit
+ * per key. Each consume locks the key's row with {@code SELECT ... FOR UPDATE}, applies the command
+ * and writes the state back in one short transaction on its own connection.
+ *
+ * <p>{@code last_access} is stamped on every write; rows idle for longer than the idle eviction
+ * period are deleted in chunks by {@link #purgeIdle()}.
+ */
+@Slf4j
+public class JdbcBucketProxyManager extends AbstractSelectForUpdateBasedProxyManager<String> {
+
+  private static final int PURGE_CHUNK_SIZE = 1000;
+
+  private final DataSource dataSource;
+  private final Duration idleEviction;
+
+  public JdbcBucketProxyManager(DataSource dataSource, Duration idleEviction) {
+    super(ClientSideConfig.getDefault());
+    this.dataSource = dataSource;
+    this.idleEviction = idleEviction;
+  }
+
+  @Override
+  protected SelectForUpdateBasedTransaction allocateTransaction(String key) {
+    Connection connection;
+    try {
+      connection = dataSource.getConnection();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not get a connection for rate limiting", e);
+    }
+    return new SelectForUpdateBasedTransaction() {
+      @Override
+      public void begin() {
+        run(() -> connection.setAutoCommit(false));
+      }
+
+      @Override
+      public void rollback() {
+        run(connection::rollback);
+      }
+
+      @Override
+      public void commit() {
+        run(connection::commit);
+      }
+
+      @Override
+      public LockAndGetResult tryLockAndGet() {
+        try (PreparedStatement statement =
+            connection.prepareStatement(
+                "SELECT state FROM rate_limit_bucket WHERE id = ? FOR UPDATE")) {
+          statement.setString(1, key);
+          try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next()
+                ? LockAndGetResult.locked(resultSet.getBytes(1))
+                : LockAndGetResult.notLocked();
+          }
+        } catch (SQLException e) {
+          throw new IllegalStateException("Could not lock rate limit bucket", e);
+        }
+      }
+
+      @Override
+      public boolean tryInsertEmptyData() {
+        // A concurrent insert of the same key is fine: the caller locks the row next
+        try (PreparedStatement statement =
+            connection.prepareStatement(
+                "INSERT IGNORE INTO rate_limit_bucket (id, state, last_access) VALUES (?, NULL, ?)")) {
+          statement.setString(1, key);
+          statement.setTimestamp(2, Timestamp.from(Instant.now()));
+          statement.executeUpdate();
+          return true;
+        } catch (SQLException e) {
+          throw new IllegalStateException("Could not create rate limit bucket", e);
+        }
+      }
+
+      @Override
+      public void update(byte[] data, RemoteBucketState newState) {
+        try (PreparedStatement statement =
+            connection.prepareStatement(
+                "UPDATE rate_limit_bucket SET state = ?, last_access = ? WHERE id = ?")) {
+          statement.setBytes(1, data);
+          statement.setTimestamp(2, Timestamp.from(Instant.now()));
+          statement.setString(3, key);
+          statement.executeUpdate();
+        } catch (SQLException e) {
+          throw new IllegalStateException("Could not update rate limit bucket", e);
+        }
+      }
+
+      @Override
+      public void release() {
+        run(connection::close);
+      }
+    };
+  }
+
+  @Override
+  public void removeProxy(String key) {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement("DELETE FROM rate_limit_bucket WHERE id = ?")) {
+      statement.setString(1, key);
+      statement.executeUpdate();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not remove rate limit bucket", e);
+    }
+  }
+
+  /**
+   * Deletes buckets idle for longer than the eviction period, one autocommitted chunk at a time.
+   */
+  @Scheduled(fixedDelayString = "${app.rate-limit.idle-purge-interval-ms}")
+  public void purgeIdle() {
+    Timestamp cutoff = Timestamp.from(Instant.now().minus(idleEviction));
+    long deleted = 0;
+    int chunk;
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement(
+                "DELETE FROM rate_limit_bucket WHERE last_access < ? LIMIT " + PURGE_CHUNK_SIZE)) {
+      connection.setAutoCommit(true);
+      statement.setTimestamp(1, cutoff);
+      do {
+        chunk = statement.executeUpdate();
+        deleted += chunk;
+      } while (chunk == PURGE_CHUNK_SIZE);
+    } catch (SQLException e) {
+      log.error("Idle rate limit bucket purge failed: {}", e.getMessage(), e);
+    }
+    if (deleted > 0) {
+      log.info("Purged {} idle rate limit buckets", deleted);
+    }
+  }
+
+  @FunctionalInterface
+  private interface SqlAction {
+    void run() throws SQLException;
+  }
+
+  private static void run(SqlAction action) {
+    try {
+      action.run();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Rate limit bucket transaction failed", e);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.flipkart.ecommerce_backend.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Buckets in a size-capped Caffeine cache that expires entries after an idle period. Caffeine
+ * stripes its internal locks and evicts in amortized O(1), so neither a flood of distinct keys nor
+ * idle cleanup needs a full scan. Limits are per instance.
+ */
+public class LocalRateLimitBucketStore implements RateLimitBucketStore {
+
+  private final Cache<String, Bucket> buckets;
+
+  public LocalRateLimitBucketStore(
+      long maxBuckets, Duration idleEviction, MeterRegistry meterRegistry) {
+    this.buckets =
+        Caffeine.newBuilder()
+            .maximumSize(maxBuckets)
+            .expireAfterAccess(idleEviction)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+  }
+
+  @Override
+  public Bucket resolve(String key, Supplier<BucketConfiguration> configuration) {
+    return buckets.get(key, k -> newBucket(configuration.get()));
+  }
+
+  @Override
+  public void remove(String key) {
+    buckets.invalidate(key);
+  }
+
+  private static Bucket newBucket(BucketConfiguration configuration) {
+    LocalBucketBuilder builder = Bucket.builder();
+    for (Bandwidth bandwidth : configuration.getBandwidths()) {
+      builder.addLimit(bandwidth);
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,28 @@
+package com.flipkart.ecommerce_backend.security.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Buckets kept in a shared store behind a Bucket4j {@link ProxyManager}. The returned proxy is a
+ * cheap handle; its state is read and written in the store on each consume, so every instance sees
+ * the same limit.
+ */
+@RequiredArgsConstructor
+public class ProxyRateLimitBucketStore implements RateLimitBucketStore {
+
+  private final ProxyManager<String> proxyManager;
+
+  @Override
+  public Bucket resolve(String key, Supplier<BucketConfiguration> configuration) {
+    return proxyManager.builder().build(key, configuration);
+  }
+
+  @Override
+  public void remove(String key) {
+    proxyManager.removeProxy(key);
+  }
+}
@@ -0,0 +1,21 @@
+package com.flipkart.ecommerce_backend.security.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import java.util.function.Supplier;
+
+/**
+ * Where rate limit buckets live. Selected with {@code app.rate-limit.backend}: {@code local} keeps
+ * them in this JVM, {@code jdbc} shares them between instances through the database, and {@code
+ * embedded} runs the shared-store code path against an in-process map (tests, single-node dev).
+ *
+ * <p>Buckets that have not been touched for {@code app.rate-limit.idle-eviction-ms} are dropped.
+ * That is at least the longest refill period, so an evicted bucket would have been full anyway.
+ */
+public interface RateLimitBucketStore {
+
+  /** Returns the bucket for {@code key}, creating it with {@code configuration} on first use. */
+  Bucket resolve(String key, Supplier<BucketConfiguration> configuration);
+
+  void remove(String key);
+}
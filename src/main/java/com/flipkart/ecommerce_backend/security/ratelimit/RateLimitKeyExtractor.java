@@ -0,0 +1,48 @@
+package com.flipkart.ecommerce_backend.security.ratelimit;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the rate limit key (e.g. {@code username}) out of a buffered JSON request body with a
+ * streaming token scan, without binding the body to a DTO. Only top-level fields are looked at;
+ * nested values are skipped unread.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitKeyExtractor {
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Returns the value of the top-level {@code field} as text, or null if the body is not a JSON
+   * object, lacks the field, or holds a non-scalar or null value there. Like Jackson's binding, the
+   * last occurrence of a repeated field wins, so a body cannot be limited under one key and bound
+   * under another.
+   */
+  public String extract(byte[] body, String field) throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+      String value = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        JsonToken token = parser.nextToken();
+        if (field.equals(name)) {
+          value = token.isScalarValue() && token != JsonToken.VALUE_NULL ? parser.getText() : null;
+        }
+        parser.skipChildren();
+      }
+      return value;
+    } catch (JsonProcessingException e) {
+      // Malformed body: left to the request body binding to reject with 400
+      return null;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.flipkart.ecommerce_backend.security.store;
+
+import com.flipkart.ecommerce_backend.repository.EmailVerificationTokenRepository;
+import com.flipkart.ecommerce_backend.repository.PasswordResetTokenRepository;
+import com.flipkart.ecommerce_backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically deletes expired refresh, email verification and password reset tokens. Each table is
+ * purged with {@code DELETE ... LIMIT chunk-size} statements, one short transaction per chunk with
+ * a pause in between, so row locks are held only briefly and replicas are not flooded.
+ *
+ * <p>Runs on its own thread every {@code interval-ms} plus or minus a random {@code jitter-ms}, so
+ * several instances do not purge in lockstep. Publishes {@code tokens.purged} (rows) and {@code
+ * tokens.purge} (time), both tagged by table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpiredTokenJanitor {
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final EmailVerificationTokenRepository emailVerificationTokenRepository;
+  private final PasswordResetTokenRepository passwordResetTokenRepository;
+  private final TokenStore tokenStore;
+  private final PlatformTransactionManager transactionManager;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.tokens.purge.interval-ms}")
+  private long intervalMs;
+
+  @Value("${app.tokens.purge.jitter-ms}")
+  private long jitterMs;
+
+  @Value("${app.tokens.purge.chunk-size}")
+  private int chunkSize;
+
+  @Value("${app.tokens.purge.chunk-pause-ms}")
+  private long chunkPauseMs;
+
+  private List<TablePurge> purges;
+  private ScheduledExecutorService scheduler;
+
+  @FunctionalInterface
+  private interface ChunkDelete {
+    int delete(Instant now, int limit);
+  }
+
+  private record TablePurge(String table, ChunkDelete delete, Counter purged, Timer time) {}
+
+  @PostConstruct
+  public void init() {
+    purges =
+        List.of(
+            tablePurge("refresh_tokens", refreshTokenRepository::deleteExpiredChunk),
+            tablePurge(
+                "email_verification_tokens", emailVerificationTokenRepository::deleteExpiredChunk),
+            tablePurge("password_reset_token", passwordResetTokenRepository::deleteExpiredChunk));
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "token-janitor");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduleNext();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  /** Purges every token table once; returns the total number of rows deleted. */
+  public long purgeExpired() {
+    Instant now = Instant.now();
+    int evicted = tokenStore.evictExpired(now);
+    if (evicted > 0) {
+      log.info("Evicted {} expired refresh tokens from memory", evicted);
+    }
+    long total = 0;
+    for (TablePurge purge : purges) {
+      total += purge(purge, now);
+    }
+    return total;
+  }
+
+  private long purge(TablePurge purge, Instant now) {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    long start = System.nanoTime();
+    long deleted = 0;
+    int chunk;
+    do {
+      chunk = transaction.execute(status -> purge.delete().delete(now, chunkSize));
+      deleted += chunk;
+    } while (chunk == chunkSize && pause());
+    long elapsedNanos = System.nanoTime() - start;
+    purge.time().record(elapsedNanos, TimeUnit.NANOSECONDS);
+    purge.purged().increment(deleted);
+    if (deleted > 0) {
+      log.info(
+          "Purged {} expired rows from {} in {} ms",
+          deleted,
+          purge.table(),
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+    return deleted;
+  }
+
+  private boolean pause() {
+    try {
+      Thread.sleep(chunkPauseMs);
+      return true;
+    } catch (InterruptedException e) {
+      // Shutting down; the rest is picked up by the next run
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void scheduleNext() {
+    long delay = intervalMs + ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1);
+    scheduler.schedule(this::runAndReschedule, Math.max(0, delay), TimeUnit.MILLISECONDS);
+  }
+
+  private void runAndReschedule() {
+    try {
+      purgeExpired();
+    } catch (RuntimeException e) {
+      log.error("Expired token purge failed: {}", e.getMessage(), e);
+    } finally {
+      if (!scheduler.isShutdown()) {
+        scheduleNext();
+      }
+    }
+  }
+
+  private TablePurge tablePurge(String table, ChunkDelete delete) {
+    return new TablePurge(
+        table,
+        delete,
+        Counter.builder("tokens.purged").tag("table", table).register(meterRegistry),
+        Timer.builder("tokens.purge").tag("table", table).register(meterRegistry));
+  }
+}
@@ -0,0 +1,309 @@
+package com.flipkart.ecommerce_backend.security.store;
+
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+import com.flipkart.ecommerce_backend.models.LocalUser;
+import com.flipkart.ecommerce_backend.models.RefreshToken;
+import com.flipkart.ecommerce_backend.repository.LocalUserRepository;
+import com.flipkart.ecommerce_backend.repository.RefreshTokenRepository;
+import com.flipkart.ecommerce_backend.security.exception.TokenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Serves refresh tokens from a concurrent in-memory index of token hashes, loaded from {@code
+ * refresh_tokens} at startup. Lookups, rotation and logout touch only memory; the inserts and
+ * deletes they imply are queued and written to the table in batches every {@code
+ * flush-interval-ms}, and on shutdown. Rotation is atomic: the old token is removed from the index
+ * with a single {@code remove}, so only one of several concurrent refreshes with it can win.
+ *
+ * <p>Revoking all tokens of a user (password change, account deletion) is rare and is written
+ * through synchronously, within the caller's transaction.
+ *
+ * <p>The index is local to this instance: tokens issued or revoked on another instance are not seen
+ * until restart, so run it on a single instance or behind sticky routing, and use the {@code jpa}
+ * store otherwise. A crash loses at most one flush interval of writes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.auth.refresh-token-store.type", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryTokenStore implements TokenStore {
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final LocalUserRepository localUserRepository;
+  private final PlatformTransactionManager transactionManager;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.jwt.refresh-token.expiration-ms}")
+  private long refreshTokenDurationMs;
+
+  @Value("${app.auth.refresh-token-store.batch-size}")
+  private int batchSize;
+
+  private final ConcurrentHashMap<String, Entry> tokens = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<UUID, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+  private final Queue<Entry> pendingInserts = new ConcurrentLinkedQueue<>();
+  private final Queue<String> pendingDeletes = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingWrites = new AtomicInteger();
+  private final Object flushLock = new Object();
+
+  private Counter flushFailures;
+
+  /** {@code storedValue} is what the table holds: the hash, or the raw token for legacy rows. */
+  private record Entry(String hash, String storedValue, UUID userId, Instant expiryDate) {}
+
+  @PostConstruct
+  public void init() {
+    Gauge.builder("refresh.tokens.active", tokens, ConcurrentHashMap::size).register(meterRegistry);
+    Gauge.builder("refresh.tokens.pending.writes", pendingWrites, AtomicInteger::get)
+        .register(meterRegistry);
+    flushFailures = Counter.builder("refresh.tokens.flush.failures").register(meterRegistry);
+    warmUp();
+  }
+
+  private void warmUp() {
+    long start = System.currentTimeMillis();
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    readOnly.executeWithoutResult(
+        status -> {
+          try (Stream<StoredRefreshToken> rows =
+              refreshTokenRepository.streamUnexpired(Instant.now())) {
+            rows.forEach(
+                row ->
+                    index(
+                        new Entry(
+                            RefreshTokenHasher.isHash(row.token())
+                                ? row.token()
+                                : RefreshTokenHasher.hash(row.token()),
+                            row.token(),
+                            row.userId(),
+                            row.expiryDate())));
+          }
+        });
+    log.info(
+        "Loaded {} refresh tokens into memory in {} ms",
+        tokens.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  @Override
+  public RefreshToken createAndPersistRefreshToken(LocalUser user) {
+    String token = UUID.randomUUID().toString(); // Simple opaque token
+    String hash = RefreshTokenHasher.hash(token);
+    Entry entry =
+        new Entry(hash, hash, user.getId(), Instant.now().plusMillis(refreshTokenDurationMs));
+    index(entry);
+    pendingInserts.add(entry);
+    pendingWrites.incrementAndGet();
+    return issued(token, user, entry);
+  }
+
+  @Override
+  public Optional<RefreshToken> findByToken(String token) {
+    Entry entry = tokens.get(RefreshTokenHasher.hash(token));
+    if (entry == null) {
+      return Optional.empty();
+    }
+    Optional<LocalUser> user = localUserRepository.findById(entry.userId());
+    if (user.isEmpty()) {
+      revoke(entry.hash());
+      return Optional.empty();
+    }
+    return Optional.of(issued(token, user.get(), entry));
+  }
+
+  @Override
+  public void verifyExpiration(RefreshToken token) {
+    if (token.getExpiryDate().isBefore(Instant.now())) {
+      revoke(RefreshTokenHasher.hash(token.getToken())); // Clean up expired token
+      throw new TokenException(
+          ErrorCode.TOKEN_EXPIRED, "Refresh token was expired. Please make a new sign-in request");
+    }
+  }
+
+  @Override
+  public Optional<RefreshToken> rotate(String token, LocalUser user) {
+    if (!revoke(RefreshTokenHasher.hash(token))) {
+      return Optional.empty();
+    }
+    return Optional.of(createAndPersistRefreshToken(user));
+  }
+
+  @Override
+  public void deleteToken(String token) {
+    revoke(RefreshTokenHasher.hash(token));
+  }
+
+  @Override
+  @Transactional
+  public void deleteUserTokens(LocalUser user) {
+    Set<String> hashes = tokensByUser.remove(user.getId());
+    if (hashes != null) {
+      hashes.forEach(tokens::remove);
+    }
+    refreshTokenRepository.deleteByUserId(user.getId());
+  }
+
+  @Override
+  public int evictExpired(Instant now) {
+    int evicted = 0;
+    for (Entry entry : tokens.values()) {
+      // The janitor deletes the rows, so no delete is queued
+      if (entry.expiryDate().isBefore(now) && tokens.remove(entry.hash(), entry)) {
+        unindexUser(entry);
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  @Scheduled(fixedDelayString = "${app.auth.refresh-token-store.flush-interval-ms}")
+  public void flush() {
+    synchronized (flushLock) {
+      while (!pendingInserts.isEmpty() || !pendingDeletes.isEmpty()) {
+        List<String> deletes = drain(pendingDeletes);
+        // A token revoked before it was ever written needs no insert
+        List<Entry> inserts = drain(pendingInserts).stream().filter(this::isLive).toList();
+        write(deletes, inserts);
+        // Revoked while being written (deleteUserTokens queues no delete of its own)
+        inserts.stream().filter(insert -> !isLive(insert)).forEach(this::queueDelete);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flush();
+  }
+
+  private void write(List<String> deletes, List<Entry> inserts) {
+    if (deletes.isEmpty() && inserts.isEmpty()) {
+      return;
+    }
+    try {
+      writeInTransaction(deletes, inserts);
+    } catch (RuntimeException e) {
+      flushFailures.increment();
+      log.warn(
+          "Refresh token flush of {} deletes / {} inserts failed, retrying one by one: {}",
+          deletes.size(),
+          inserts.size(),
+          e.getMessage());
+      deletes.forEach(delete -> writeOne(List.of(delete), List.of()));
+      inserts.forEach(insert -> writeOne(List.of(), List.of(insert)));
+    }
+  }
+
+  private void writeOne(List<String> deletes, List<Entry> inserts) {
+    try {
+      writeInTransaction(deletes, inserts);
+    } catch (RuntimeException e) {
+      // e.g. the user was deleted meanwhile; the token is unusable anyway
+      log.error("Dropping refresh token write that cannot be applied: {}", e.getMessage());
+    }
+  }
+
+  private void writeInTransaction(List<String> deletes, List<Entry> inserts) {
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              if (!deletes.isEmpty()) {
+                refreshTokenRepository.deleteByTokenIn(deletes);
+              }
+              if (!inserts.isEmpty()) {
+                refreshTokenRepository.saveAll(inserts.stream().map(this::toEntity).toList());
+              }
+            });
+  }
+
+  private <T> List<T> drain(Queue<T> queue) {
+    List<T> batch = new ArrayList<>(Math.min(batchSize, 64));
+    T item;
+    while (batch.size() < batchSize && (item = queue.poll()) != null) {
+      batch.add(item);
+      pendingWrites.decrementAndGet();
+    }
+    return batch;
+  }
+
+  private void index(Entry entry) {
+    tokens.put(entry.hash(), entry);
+    // compute() keeps this atomic with the removal of an emptied set in unindexUser()
+    tokensByUser.compute(
+        entry.userId(),
+        (userId, hashes) -> {
+          Set<String> set = hashes != null ? hashes : ConcurrentHashMap.newKeySet();
+          set.add(entry.hash());
+          return set;
+        });
+  }
+
+  /** Removes the token from the index and queues its delete; false if it was not there. */
+  private boolean revoke(String hash) {
+    Entry entry = tokens.remove(hash);
+    if (entry == null) {
+      return false;
+    }
+    unindexUser(entry);
+    queueDelete(entry);
+    return true;
+  }
+
+  private void unindexUser(Entry entry) {
+    tokensByUser.computeIfPresent(
+        entry.userId(),
+        (userId, hashes) -> {
+          hashes.remove(entry.hash());
+          return hashes.isEmpty() ? null : hashes;
+        });
+  }
+
+  private void queueDelete(Entry entry) {
+    pendingDeletes.add(entry.storedValue());
+    pendingWrites.incrementAndGet();
+  }
+
+  private boolean isLive(Entry entry) {
+    return tokens.get(entry.hash()) == entry;
+  }
+
+  private RefreshToken toEntity(Entry entry) {
+    RefreshToken refreshToken = new RefreshToken();
+    refreshToken.setToken(entry.storedValue());
+    refreshToken.setUser(localUserRepository.getReferenceById(entry.userId()));
+    refreshToken.setExpiryDate(entry.expiryDate());
+    return refreshToken;
+  }
+
+  private static RefreshToken issued(String token, LocalUser user, Entry entry) {
+    RefreshToken refreshToken = new RefreshToken();
+    refreshToken.setToken(token);
+    refreshToken.setUser(user);
+    refreshToken.setExpiryDate(entry.expiryDate());
+    return refreshToken;
+  }
+}
@@ -0,0 +1,33 @@
+package com.flipkart.ecommerce_backend.security.store;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Refresh tokens are stored as the hex SHA-256 of the value handed to the client, so a leaked
+ * {@code refresh_tokens} table cannot be replayed. The tokens are random, so an unsalted fast hash
+ * is enough.
+ */
+public final class RefreshTokenHasher {
+
+  private static final int HASH_LENGTH = 64;
+
+  private RefreshTokenHasher() {}
+
+  public static String hash(String token) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** Whether a stored value is a hash, as opposed to a raw token persisted by older versions. */
+  public static boolean isHash(String storedValue) {
+    return storedValue.length() == HASH_LENGTH;
+  }
+}
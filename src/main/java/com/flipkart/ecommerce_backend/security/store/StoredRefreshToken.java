@@ -0,0 +1,7 @@
+package com.flipkart.ecommerce_backend.security.store;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** A {@code refresh_tokens} row without the user entity, for loading the in-memory index. */
+public record StoredRefreshToken(String token, UUID userId, Instant expiryDate) {}
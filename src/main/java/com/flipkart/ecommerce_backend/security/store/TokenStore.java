@@ -2,8 +2,14 @@ package com.flipkart.ecommerce_backend.security.store;
 
 import com.flipkart.ecommerce_backend.models.LocalUser;
 import com.flipkart.ecommerce_backend.models.RefreshToken;
+import java.time.Instant;
 import java.util.Optional;
 
+/**
+ * Refresh token storage. Tokens are persisted hashed (see {@link RefreshTokenHasher}); the {@link
+ * RefreshToken#getToken()} of a token returned by this store is always the raw value the client
+ * holds.
+ */
 public interface TokenStore {
   RefreshToken createAndPersistRefreshToken(LocalUser user);
 
@@ -11,7 +17,23 @@ public interface TokenStore {
 
   void verifyExpiration(RefreshToken token);
 
+  /**
+   * Revokes {@code token} and issues its replacement for {@code user} as one step. Of concurrent
+   * rotations of the same token only one succeeds; the others get an empty result.
+   */
+  Optional<RefreshToken> rotate(String token, LocalUser user);
+
   void deleteToken(String token);
 
   void deleteUserTokens(LocalUser user);
+
+  /**
+   * Drops tokens that expired before {@code now} from any in-memory state. The table itself is
+   * purged by {@link ExpiredTokenJanitor}.
+   *
+   * @return the number of tokens dropped
+   */
+  default int evictExpired(Instant now) {
+    return 0;
+  }
 }
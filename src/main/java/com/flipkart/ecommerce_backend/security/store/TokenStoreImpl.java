@@ -7,18 +7,25 @@ import com.flipkart.ecommerce_backend.repository.LocalUserRepository;
 import com.flipkart.ecommerce_backend.repository.RefreshTokenRepository;
 import com.flipkart.ecommerce_backend.security.exception.TokenException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+/** Database-only store: every operation goes to {@code refresh_tokens}. */
 @Component
+@ConditionalOnProperty(
+    name = "app.auth.refresh-token-store.type",
+    havingValue = "jpa",
+    matchIfMissing = true)
 @RequiredArgsConstructor
 public class TokenStoreImpl implements TokenStore {
   private final RefreshTokenRepository refreshTokenRepository;
-  private final LocalUserRepository localUserRepository; // Needed if LocalUser detached
+  private final LocalUserRepository localUserRepository;
 
   @Value("${app.jwt.refresh-token.expiration-ms}")
   private Long refreshTokenDurationMs;
@@ -26,44 +33,64 @@ public class TokenStoreImpl implements TokenStore {
   @Override
   @Transactional
   public RefreshToken createAndPersistRefreshToken(LocalUser user) {
-    // Ensure user is managed if potentially detached
-    LocalUser managedUser =
-        user.getId() == null
-            ? user
-            : localUserRepository
-                .findById(user.getId())
-                .orElseThrow(() -> new RuntimeException("User not found for token creation"));
-
+    String token = UUID.randomUUID().toString(); // Simple opaque token
     RefreshToken refreshToken = new RefreshToken();
-    refreshToken.setUser(managedUser);
+    // A reference is enough for the foreign key, no need to re-read the user
+    refreshToken.setUser(localUserRepository.getReferenceById(user.getId()));
     refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs));
-    refreshToken.setToken(UUID.randomUUID().toString()); // Simple opaque token
-    return refreshTokenRepository.save(refreshToken);
+    refreshToken.setToken(RefreshTokenHasher.hash(token));
+    refreshTokenRepository.save(refreshToken);
+    return withRawToken(refreshToken, user, token);
   }
 
   @Override
   public Optional<RefreshToken> findByToken(String token) {
-    return refreshTokenRepository.findByToken(token);
+    // Tokens issued before hashing was introduced are stored raw
+    return refreshTokenRepository
+        .findByToken(RefreshTokenHasher.hash(token))
+        .or(() -> refreshTokenRepository.findByToken(token))
+        .map(stored -> withRawToken(stored, stored.getUser(), token));
   }
 
   @Override
   public void verifyExpiration(RefreshToken token) {
     if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-      refreshTokenRepository.delete(token); // Clean up expired token
+      refreshTokenRepository.deleteById(token.getId()); // Clean up expired token
       throw new TokenException(
           ErrorCode.TOKEN_EXPIRED, "Refresh token was expired. Please make a new sign-in request");
     }
   }
 
+  @Override
+  @Transactional
+  public Optional<RefreshToken> rotate(String token, LocalUser user) {
+    // The row lock taken by the delete serializes concurrent rotations of the same token
+    if (refreshTokenRepository.deleteByTokenIn(List.of(RefreshTokenHasher.hash(token), token))
+        == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(createAndPersistRefreshToken(user));
+  }
+
   @Override
   @Transactional
   public void deleteToken(String token) {
-    refreshTokenRepository.deleteByToken(token);
+    refreshTokenRepository.deleteByTokenIn(List.of(RefreshTokenHasher.hash(token), token));
   }
 
   @Override
   @Transactional
   public void deleteUserTokens(LocalUser user) {
-    refreshTokenRepository.deleteByUser(user);
+    refreshTokenRepository.deleteByUserId(user.getId());
+  }
+
+  /** Detached copy of a stored token carrying the raw value instead of its hash. */
+  private static RefreshToken withRawToken(RefreshToken stored, LocalUser user, String token) {
+    RefreshToken copy = new RefreshToken();
+    copy.setId(stored.getId());
+    copy.setUser(user);
+    copy.setExpiryDate(stored.getExpiryDate());
+    copy.setToken(token);
+    return copy;
   }
 }
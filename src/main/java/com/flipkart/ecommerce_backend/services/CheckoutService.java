@@ -0,0 +1,21 @@
+package com.flipkart.ecommerce_backend.services;
+
+import com.flipkart.ecommerce_backend.dtos.OrderDto;
+import com.flipkart.ecommerce_backend.dtos.PlaceOrderRequest;
+import java.util.UUID;
+
+/** Places orders, reserving their stock atomically. */
+public interface CheckoutService {
+
+  /**
+   * Creates a {@code PENDING} order for the user and takes its stock from the ordered variants.
+   * Either every line gets its stock or nothing is written.
+   *
+   * @throws com.flipkart.ecommerce_backend.exception.address.AddressNotFoundException if the
+   *     address does not belong to the user.
+   * @throws com.flipkart.ecommerce_backend.exception.order.OrderException with {@code
+   *     INSUFFICIENT_STOCK} if any line cannot be filled, or {@code ORDER_ITEM_UNAVAILABLE} if a
+   *     variant does not exist or its product is not active.
+   */
+  OrderDto placeOrder(UUID userId, PlaceOrderRequest request);
+}
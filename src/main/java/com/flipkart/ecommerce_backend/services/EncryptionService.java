@@ -1,28 +1,21 @@
 package com.flipkart.ecommerce_backend.services;
 
-import jakarta.annotation.PostConstruct;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCrypt;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+/** Thin wrapper over the application {@link PasswordEncoder}, so both produce the same hashes. */
 @Service
+@RequiredArgsConstructor
 public class EncryptionService {
 
-  @Value("${encryption.salt.rounds}")
-  private int saltRounds;
-
-  private String salt;
-
-  @PostConstruct
-  public void postconstruct() {
-    salt = BCrypt.gensalt(saltRounds);
-  }
+  private final PasswordEncoder passwordEncoder;
 
   public String encryptPassword(String password) {
-    return BCrypt.hashpw(password, this.salt);
+    return passwordEncoder.encode(password);
   }
 
   public boolean verifyPassword(String password, String hash) {
-    return BCrypt.checkpw(password, hash);
+    return passwordEncoder.matches(password, hash);
   }
 }
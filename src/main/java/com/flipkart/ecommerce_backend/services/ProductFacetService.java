@@ -0,0 +1,35 @@
+package com.flipkart.ecommerce_backend.services;
+
+import com.flipkart.ecommerce_backend.models.ProductFacetKey;
+import java.util.Map;
+
+/**
+ * Left-nav facet counts served from the materialized {@code product_facet_count} store instead of
+ * counting the product table. Counts exclude deleted products.
+ */
+public interface ProductFacetService {
+
+  /** Counts a newly created product. Must run inside the transaction that creates it. */
+  void recordCreated(ProductFacetKey key);
+
+  /** Counts {@code count} newly created products sharing one key, e.g. from a bulk import. */
+  void recordCreated(ProductFacetKey key, long count);
+
+  /**
+   * Moves a product's count from one key to another, e.g. after a category or brand change or a
+   * soft delete. Must run inside the transaction that changes the product, so both counters change
+   * atomically with it. Does nothing if the keys are equal.
+   */
+  void recordMoved(ProductFacetKey from, ProductFacetKey to);
+
+  /** Recomputes every counter from the product table and returns the number of counters. */
+  int rebuild();
+
+  Map<String, Long> countByBrand();
+
+  Map<String, Long> countByCategory();
+
+  Map<String, Long> countByBrandInCategory(String category);
+
+  Map<String, Long> countByCategoryForBrand(String brand);
+}
@@ -0,0 +1,15 @@
+package com.flipkart.ecommerce_backend.services;
+
+import com.flipkart.ecommerce_backend.dtos.ProductImportFormat;
+import com.flipkart.ecommerce_backend.dtos.ProductImportResult;
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+  /**
+   * Creates one product with a single variant per row of {@code input}, read incrementally. Rows
+   * have the fields of {@code ProductCreateDto}; CSV input needs a header line naming them. Invalid
+   * rows and rows whose SKU already exists are reported and skipped, the rest are imported.
+   */
+  ProductImportResult importProducts(InputStream input, ProductImportFormat format);
+}
@@ -1,9 +1,16 @@
 package com.flipkart.ecommerce_backend.services;
 
 import com.flipkart.ecommerce_backend.dtos.ProductCreateDto;
+import com.flipkart.ecommerce_backend.dtos.ProductCursorPage;
 import com.flipkart.ecommerce_backend.dtos.ProductDto;
+import com.flipkart.ecommerce_backend.dtos.ProductListingDto;
+import com.flipkart.ecommerce_backend.dtos.ProductQueryRequest;
+import com.flipkart.ecommerce_backend.dtos.ProductQueryResult;
 import com.flipkart.ecommerce_backend.dtos.ProductUpdateDto;
 import com.flipkart.ecommerce_backend.models.ProductStatus;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,27 +20,57 @@ public interface ProductService {
 
   ProductDto getProduct(UUID id);
 
+  /**
+   * Returns the products with the given ids in request order, each at most once. Unknown ids are
+   * skipped.
+   */
+  List<ProductDto> getProductsByIds(List<UUID> ids);
+
   void deleteProduct(UUID id);
 
   ProductDto updateProduct(UUID id, ProductUpdateDto productUpdateDto);
 
-  Page<ProductDto> getProducts(Pageable pageable);
+  Page<ProductListingDto> getProducts(Pageable pageable);
+
+  /**
+   * Keyset-paginated listings. Each returns up to {@code size} products ordered by creation time,
+   * continuing after the opaque {@code cursor} from the previous slice (null for the first slice).
+   */
+  ProductCursorPage getProductsAfter(String cursor, int size);
+
+  ProductCursorPage getProductsByCategoryAfter(String category, String cursor, int size);
+
+  ProductCursorPage getProductsByBrandAfter(String brand, String cursor, int size);
+
+  ProductCursorPage getProductsByPriceRangeAfter(Double min, Double max, String cursor, int size);
+
+  Page<ProductListingDto> getProductsByKeyword(String keyword, Pageable pageable);
+
+  /**
+   * Writes every non-deleted product with its variants to {@code out}, one JSON object per line.
+   */
+  void exportProducts(OutputStream out) throws IOException;
 
-  Page<ProductDto> getProductsByKeyword(String keyword, Pageable pageable);
+  /**
+   * Filters by any combination of the request's fields and returns one page of matches together
+   * with brand, category and price-range facet counts over all matches.
+   */
+  ProductQueryResult queryProducts(ProductQueryRequest filter, Pageable pageable);
 
-  Page<ProductDto> getProductsByCategory(String category, Pageable pageable);
+  Page<ProductListingDto> getProductsByCategory(String category, Pageable pageable);
 
-  Page<ProductDto> getProductsByBrand(String brand, Pageable pageable);
+  Page<ProductListingDto> getProductsByBrand(String brand, Pageable pageable);
 
-  Page<ProductDto> getProductsByStatus(ProductStatus status, Pageable pageable);
+  Page<ProductListingDto> getProductsByStatus(ProductStatus status, Pageable pageable);
 
-  Page<ProductDto> getProductsByPriceRange(Double min, Double max, Pageable pageable);
+  Page<ProductListingDto> getProductsByPriceRange(Double min, Double max, Pageable pageable);
 
-  Page<ProductDto> getProductsByCategoryAndPriceRange(
+  Page<ProductListingDto> getProductsByCategoryAndPriceRange(
       String category, Double min, Double max, Pageable pageable);
 
-  Page<ProductDto> getProductsByCategoryAndBrand(String category, String brand, Pageable pageable);
+  Page<ProductListingDto> getProductsByCategoryAndBrand(
+      String category, String brand, Pageable pageable);
 
-  Page<ProductDto> getProductsByCategoryAndBrandAndPriceRange(
+  Page<ProductListingDto> getProductsByCategoryAndBrandAndPriceRange(
       String category, String brand, Double min, Double max, Pageable pageable);
 }
@@ -90,6 +90,16 @@ public interface TokenService {
    */
   RefreshToken verifyRefreshTokenExpiration(RefreshToken token);
 
+  /**
+   * Exchanges a refresh token for a new token pair. The presented refresh token is revoked and
+   * replaced in one step, so it can be used only once even by concurrent requests.
+   *
+   * @param refreshToken The refresh token string presented by the client.
+   * @return An AuthResponse DTO containing the new access and refresh tokens.
+   * @throws TokenException if the token is unknown, already used or expired.
+   */
+  LoginResponse refreshTokens(String refreshToken);
+
   /**
    * Deletes a Refresh Token from the persistent store using its token string. Used during logout or
    * when a refresh token is successfully used to get new tokens.
@@ -13,11 +13,12 @@ import javax.management.relation.RoleNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.validation.annotation.Validated;
 
 @Validated
-public interface UserManagementService extends UserDetailsService {
+public interface UserManagementService extends UserDetailsService, UserDetailsPasswordService {
   /**
    * Registers a new user based on the provided registration details. Checks for existing username
    * and email before creation.
@@ -3,7 +3,6 @@ package com.flipkart.ecommerce_backend.services.impl;
 import com.flipkart.ecommerce_backend.dtos.*;
 import com.flipkart.ecommerce_backend.handler.ErrorCode;
 import com.flipkart.ecommerce_backend.models.LocalUser;
-import com.flipkart.ecommerce_backend.models.RefreshToken;
 import com.flipkart.ecommerce_backend.security.exception.TokenException;
 import com.flipkart.ecommerce_backend.services.AuthenticationService;
 import com.flipkart.ecommerce_backend.services.TokenService;
@@ -75,26 +74,16 @@ public class AuthenticationServiceImpl implements AuthenticationService {
   public LoginResponse refreshToken(RefreshTokenRequest refreshTokenRequest) {
     String requestRefreshToken = refreshTokenRequest.refreshToken();
     log.info("Processing refresh token request");
-
-    return tokenService
-        .findRefreshToken(requestRefreshToken)
-        .map(tokenService::verifyRefreshTokenExpiration) // Throws TokenException if expired/invalid
-        .map(RefreshToken::getUser)
-        .map(
-            user -> {
-              // Generate new pair of tokens for the user using UserDetails
-              LoginResponse newTokens = tokenService.generateTokensFromUserDetails(user);
-              // Invalidate the *old* refresh token AFTER generating new ones
-              tokenService.deleteRefreshToken(requestRefreshToken);
-              log.info("Tokens refreshed successfully for user: {}", user.getUsername());
-              return newTokens;
-            })
-        .orElseThrow(
-            () -> {
-              log.warn("Refresh token not found or invalid during refresh attempt.");
-              return new TokenException(
-                  ErrorCode.TOKEN_INVALID, "Refresh token not found or invalid");
-            });
+    if (!StringUtils.hasText(requestRefreshToken)) {
+      throw new TokenException(ErrorCode.TOKEN_INVALID, "Refresh token not found or invalid");
+    }
+    try {
+      // Revokes the presented token and issues its replacement in one step
+      return tokenService.refreshTokens(requestRefreshToken);
+    } catch (TokenException e) {
+      log.warn("Refresh token rejected during refresh attempt: {}", e.getMessage());
+      throw e;
+    }
   }
 
   @Override
@@ -0,0 +1,260 @@
+package com.flipkart.ecommerce_backend.services.impl;
+
+import com.flipkart.ecommerce_backend.dtos.OrderDto;
+import com.flipkart.ecommerce_backend.dtos.OrderItemDto;
+import com.flipkart.ecommerce_backend.dtos.OrderLineRequest;
+import com.flipkart.ecommerce_backend.dtos.PlaceOrderRequest;
+import com.flipkart.ecommerce_backend.events.OrderPlacedEvent;
+import com.flipkart.ecommerce_backend.exception.address.AddressNotFoundException;
+import com.flipkart.ecommerce_backend.exception.order.OrderException;
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+import com.flipkart.ecommerce_backend.inventory.InventoryWriteCombiner;
+import com.flipkart.ecommerce_backend.inventory.ReservationExpiryScheduler;
+import com.flipkart.ecommerce_backend.models.Address;
+import com.flipkart.ecommerce_backend.models.ProductStatus;
+import com.flipkart.ecommerce_backend.models.ProductVariant;
+import com.flipkart.ecommerce_backend.models.StockReservation;
+import com.flipkart.ecommerce_backend.models.WebOrder;
+import com.flipkart.ecommerce_backend.models.WebOrderQuantities;
+import com.flipkart.ecommerce_backend.repository.AddressRepository;
+import com.flipkart.ecommerce_backend.repository.LocalUserRepository;
+import com.flipkart.ecommerce_backend.repository.ProductVariantRepository;
+import com.flipkart.ecommerce_backend.repository.StockReservationRepository;
+import com.flipkart.ecommerce_backend.repository.WebOrderRepository;
+import com.flipkart.ecommerce_backend.services.CheckoutService;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stock is taken with one conditional {@code UPDATE ... WHERE quantity >= ?} per variant rather
+ * than read-modify-write, so a sale can never oversell and no row is locked before it is updated.
+ * The updates run in variant id order: two orders sharing variants lock them in the same order and
+ * cannot deadlock. If any line is short, the exception rolls back the lines already taken.
+ *
+ * <p>With {@code app.inventory.write-combiner.enabled} the decrements go through the {@link
+ * InventoryWriteCombiner} instead, batched with those of concurrent orders. Its batches commit on
+ * their own, so the order is then written in a second transaction, and granted stock is given back
+ * explicitly if a line is short or the order cannot be saved.
+ *
+ * <p>Every order holds its stock in a {@code stock_reservation} row until it is paid; unpaid orders
+ * are expired and their stock returned by the {@link ReservationExpiryScheduler}.
+ *
+ * <p>Cached product details are not evicted per order (that would churn the cache of the hottest
+ * products); their stock figures can lag by the cache TTL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckoutServiceImpl implements CheckoutService {
+
+  private final ProductVariantRepository productVariantRepository;
+  private final AddressRepository addressRepository;
+  private final LocalUserRepository localUserRepository;
+  private final WebOrderRepository webOrderRepository;
+  private final StockReservationRepository stockReservationRepository;
+  private final Optional<InventoryWriteCombiner> inventoryWriteCombiner;
+  private final PlatformTransactionManager transactionManager;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${app.inventory.reservation.ttl-ms}")
+  private long reservationTtlMs;
+
+  @Override
+  public OrderDto placeOrder(UUID userId, PlaceOrderRequest request) {
+    Address address =
+        addressRepository
+            .findByIdAndLocalUser_Id(request.addressId(), userId)
+            .orElseThrow(() -> new AddressNotFoundException(request.addressId().toString()));
+
+    // Repeated variants are merged; the sorted keys give the lock order
+    Map<UUID, Integer> quantities =
+        request.items().stream()
+            .collect(
+                Collectors.toMap(
+                    OrderLineRequest::variantId,
+                    OrderLineRequest::quantity,
+                    Integer::sum,
+                    TreeMap::new));
+
+    // Plain read, no locks: only used for validation and prices
+    Map<UUID, ProductVariant> variants =
+        productVariantRepository.findAllWithProductByIdIn(quantities.keySet()).stream()
+            .collect(Collectors.toMap(ProductVariant::getId, Function.identity()));
+    quantities.keySet().forEach(variantId -> requireOrderable(variantId, variants.get(variantId)));
+
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    WebOrder saved;
+    if (inventoryWriteCombiner.isPresent()) {
+      reserveBatched(inventoryWriteCombiner.get(), userId, quantities, variants);
+      try {
+        saved = transaction.execute(status -> saveOrder(userId, address, quantities, variants));
+      } catch (RuntimeException e) {
+        release(quantities);
+        throw e;
+      }
+    } else {
+      saved =
+          transaction.execute(
+              status -> {
+                takeStock(userId, quantities, variants);
+                return saveOrder(userId, address, quantities, variants);
+              });
+    }
+    log.info(
+        "Placed order {} for user {} ({} lines, total {})",
+        saved.getId(),
+        userId,
+        quantities.size(),
+        saved.getTotal());
+    return toDto(saved);
+  }
+
+  private void takeStock(
+      UUID userId, Map<UUID, Integer> quantities, Map<UUID, ProductVariant> variants) {
+    Instant now = Instant.now();
+    quantities.forEach(
+        (variantId, quantity) -> {
+          if (productVariantRepository.decrementStock(variantId, quantity, now) == 0) {
+            throw outOfStock(userId, variants.get(variantId));
+          }
+        });
+  }
+
+  private void reserveBatched(
+      InventoryWriteCombiner combiner,
+      UUID userId,
+      Map<UUID, Integer> quantities,
+      Map<UUID, ProductVariant> variants) {
+    Map<UUID, CompletableFuture<Boolean>> reservations = new TreeMap<>();
+    quantities.forEach(
+        (variantId, quantity) ->
+            reservations.put(variantId, combiner.reserve(variantId, quantity)));
+    // Every reservation is awaited, so all granted stock is known before any is given back
+    Map<UUID, Integer> granted = new TreeMap<>();
+    UUID shortVariant = null;
+    RuntimeException failure = null;
+    for (Map.Entry<UUID, CompletableFuture<Boolean>> reservation : reservations.entrySet()) {
+      try {
+        if (reservation.getValue().join()) {
+          granted.put(reservation.getKey(), quantities.get(reservation.getKey()));
+        } else {
+          shortVariant = reservation.getKey();
+        }
+      } catch (CompletionException e) {
+        failure =
+            e.getCause() instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new IllegalStateException("Stock reservation failed", e.getCause());
+      }
+    }
+    if (shortVariant == null && failure == null) {
+      return;
+    }
+    release(granted);
+    if (failure != null) {
+      throw failure;
+    }
+    throw outOfStock(userId, variants.get(shortVariant));
+  }
+
+  /** Gives back stock already taken for an order that will not be written. */
+  private void release(Map<UUID, Integer> quantities) {
+    if (quantities.isEmpty()) {
+      return;
+    }
+    Instant now = Instant.now();
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status ->
+                quantities.forEach(
+                    (variantId, quantity) ->
+                        productVariantRepository.incrementStock(variantId, quantity, now)));
+  }
+
+  private WebOrder saveOrder(
+      UUID userId,
+      Address address,
+      Map<UUID, Integer> quantities,
+      Map<UUID, ProductVariant> variants) {
+    WebOrder order = new WebOrder();
+    order.setLocalUser(localUserRepository.getReferenceById(userId));
+    order.setAddress(address);
+    BigDecimal total = BigDecimal.ZERO;
+    for (Map.Entry<UUID, Integer> line : quantities.entrySet()) {
+      ProductVariant variant = variants.get(line.getKey());
+      WebOrderQuantities item = new WebOrderQuantities();
+      item.setWeborder(order);
+      item.setProduct(variant.getProduct());
+      item.setVariant(variant);
+      item.setUnitPrice(variant.getPrice());
+      item.setQuantity(line.getValue());
+      order.getWebOrderQuantites().add(item);
+      total = total.add(variant.getPrice().multiply(BigDecimal.valueOf(line.getValue())));
+    }
+    order.setTotal(total);
+    WebOrder saved = webOrderRepository.save(order);
+    // The stock stays held until the order is paid or the reservation expires
+    Instant expiresAt = saved.getOrderDate().plusMillis(reservationTtlMs);
+    stockReservationRepository.save(new StockReservation(saved.getId(), expiresAt));
+    eventPublisher.publishEvent(new OrderPlacedEvent(saved.getId(), expiresAt));
+    return saved;
+  }
+
+  private static OrderException outOfStock(UUID userId, ProductVariant variant) {
+    log.info("Order for user {} rejected: variant {} is out of stock", userId, variant.getId());
+    return new OrderException(
+        ErrorCode.INSUFFICIENT_STOCK, "Not enough stock for " + variant.getSku());
+  }
+
+  private static void requireOrderable(UUID variantId, ProductVariant variant) {
+    if (variant == null || variant.getProduct().getStatus() != ProductStatus.ACTIVE) {
+      throw new OrderException(
+          ErrorCode.ORDER_ITEM_UNAVAILABLE, "Product variant " + variantId + " is not available");
+    }
+  }
+
+  private static OrderDto toDto(WebOrder order) {
+    Address address = order.getAddress();
+    return new OrderDto(
+            order.getId(),
+            order.getStatus(),
+            order.getTotal(),
+            order.getOrderDate(),
+            address.getId(),
+            address.getAddressLine1(),
+            address.getAddressLine2(),
+            address.getCity(),
+            address.getState(),
+            address.getCountry(),
+            address.getPostalCode())
+        .withItems(
+            order.getWebOrderQuantites().stream()
+                .map(
+                    item ->
+                        new OrderItemDto(
+                            order.getId(),
+                            item.getId(),
+                            item.getProduct().getId(),
+                            item.getVariant().getId(),
+                            item.getProduct().getName(),
+                            item.getProduct().getImageUrl(),
+                            item.getUnitPrice(),
+                            item.getQuantity()))
+                .toList());
+  }
+}
@@ -1,5 +1,6 @@
 package com.flipkart.ecommerce_backend.services.impl;
 
+import com.flipkart.ecommerce_backend.events.UserChangedEvent;
 import com.flipkart.ecommerce_backend.exception.DatabaseException;
 import com.flipkart.ecommerce_backend.exception.auth.TokenExpiredException;
 import com.flipkart.ecommerce_backend.exception.auth.TokenNotFoundException;
@@ -14,6 +15,7 @@ import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +27,7 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
 
   private final EmailVerificationTokenRepository verificationTokenRepository;
   private final LocalUserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Value("${app.email.verification.token.expiration-ms}")
   private Long verificationTokenExpiryMs;
@@ -105,6 +108,7 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
     user.setEnabled(true);
     try {
       userRepository.save(user);
+      eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
       log.info("Email verified successfully for user: {}", user.getUsername());
     } catch (DataIntegrityViolationException e) {
       log.error(
@@ -1,26 +1,67 @@
 package com.flipkart.ecommerce_backend.services.impl;
 
-import com.flipkart.ecommerce_backend.models.LocalUser;
-import com.flipkart.ecommerce_backend.models.WebOrder;
+import com.flipkart.ecommerce_backend.constants.AppConstants;
+import com.flipkart.ecommerce_backend.dtos.OrderDto;
+import com.flipkart.ecommerce_backend.dtos.OrderItemDto;
+import com.flipkart.ecommerce_backend.exception.order.OrderException;
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
 import com.flipkart.ecommerce_backend.repository.WebOrderRepository;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class OrderService {
 
+  // Properties the order history may be sorted by; anything else would reach the JPQL ORDER BY
+  private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "orderDate", "total");
+
   @Autowired private WebOrderRepository webOrderRepository;
 
-  public List<WebOrder> getOrders(
-      LocalUser localUser, int pageNumber, int pageSize, String sortBy) {
-    Pageable p = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy));
-    Page<WebOrder> orderPage = webOrderRepository.findByLocalUser(localUser, p);
-    List<WebOrder> orderList = orderPage.getContent();
-    return orderList;
+  /**
+   * One page of the user's order history in two queries, whatever the page size: the orders with
+   * their addresses, then all of their line items.
+   */
+  @Transactional(readOnly = true)
+  public List<OrderDto> getOrders(
+      UUID userId, int pageNumber, int pageSize, String sortBy, String sortDir) {
+    PageRequest pageRequest =
+        PageRequest.of(
+            Math.max(0, pageNumber),
+            Math.max(1, Math.min(pageSize, AppConstants.MAX_PAGE_SIZE)),
+            sort(sortBy, sortDir));
+    List<OrderDto> orders = webOrderRepository.findOrderDtosByUserId(userId, pageRequest);
+    if (orders.isEmpty()) {
+      return orders;
+    }
+    Map<Long, List<OrderItemDto>> itemsByOrder =
+        webOrderRepository
+            .findItemDtosByOrderIdIn(orders.stream().map(OrderDto::id).toList())
+            .stream()
+            .collect(Collectors.groupingBy(OrderItemDto::orderId));
+    return orders.stream()
+        .map(order -> order.withItems(itemsByOrder.getOrDefault(order.id(), List.of())))
+        .toList();
+  }
+
+  private static Sort sort(String sortBy, String sortDir) {
+    if (!SORTABLE_PROPERTIES.contains(sortBy)) {
+      throw new OrderException(ErrorCode.BAD_REQUEST, "Orders cannot be sorted by " + sortBy);
+    }
+    Sort.Direction direction =
+        Sort.Direction.fromOptionalString(sortDir)
+            .orElseThrow(
+                () ->
+                    new OrderException(ErrorCode.BAD_REQUEST, "Invalid sort direction " + sortDir));
+    Sort sort = Sort.by(direction, sortBy);
+    // Ties are broken by id so that pages don't overlap
+    return "id".equals(sortBy) ? sort : sort.and(Sort.by(direction, "id"));
   }
 }
@@ -2,6 +2,7 @@ package com.flipkart.ecommerce_backend.services.impl;
 
 import com.flipkart.ecommerce_backend.dtos.ChangePasswordRequest;
 import com.flipkart.ecommerce_backend.dtos.ResetPasswordRequest;
+import com.flipkart.ecommerce_backend.events.UserChangedEvent;
 import com.flipkart.ecommerce_backend.exception.user.UserNotFoundException;
 import com.flipkart.ecommerce_backend.models.LocalUser;
 import com.flipkart.ecommerce_backend.repository.LocalUserRepository;
@@ -12,6 +13,7 @@ import com.flipkart.ecommerce_backend.services.EmailService;
 import com.flipkart.ecommerce_backend.services.PasswordResetTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -24,6 +26,7 @@ public class PasswordManagementServiceImpl implements PasswordManagementService
   private final EmailService emailService;
   private final PasswordResetTokenService passwordResetTokenService;
   private final TokenStore tokenStore;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public void changePassword(String username, ChangePasswordRequest changePasswordRequest) {
@@ -34,10 +37,12 @@ public class PasswordManagementServiceImpl implements PasswordManagementService
     }
 
     user.setPassword(passwordEncoder.encode(changePasswordRequest.newPassword()));
+    user.revokeAccessTokens();
     localUserRepository.save(user);
     log.info("Password changed successfully for user: {}", username);
 
     tokenStore.deleteUserTokens(user);
+    eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
     log.info("Existing refresh tokens invalidated for user: {}", username);
   }
 
@@ -66,12 +71,14 @@ public class PasswordManagementServiceImpl implements PasswordManagementService
     LocalUser user = passwordResetTokenService.validatePasswordResetToken(token);
 
     user.setPassword(passwordEncoder.encode(resetPasswordRequest.newPassword()));
+    user.revokeAccessTokens();
     localUserRepository.save(user);
     log.info("Password successfully reset for user: {}", user.getUsername());
 
     passwordResetTokenService.deletePasswordResetToken(token);
 
     tokenStore.deleteUserTokens(user);
+    eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
     log.info("Existing refresh tokens invalidated for user: {}", user.getUsername());
   }
 
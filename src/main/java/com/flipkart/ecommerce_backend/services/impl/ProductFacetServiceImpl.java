@@ -0,0 +1,94 @@
+package com.flipkart.ecommerce_backend.services.impl;
+
+import com.flipkart.ecommerce_backend.dtos.FacetValueCount;
+import com.flipkart.ecommerce_backend.models.ProductFacetKey;
+import com.flipkart.ecommerce_backend.repository.ProductFacetCounterRepository;
+import com.flipkart.ecommerce_backend.services.ProductFacetService;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductFacetServiceImpl implements ProductFacetService {
+
+  private final ProductFacetCounterRepository counterRepository;
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordCreated(ProductFacetKey key) {
+    adjust(key, 1);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordCreated(ProductFacetKey key, long count) {
+    adjust(key, count);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordMoved(ProductFacetKey from, ProductFacetKey to) {
+    int order = from.compareTo(to);
+    if (order == 0) {
+      return;
+    }
+    // Touch the two counter rows in key order so that opposite concurrent moves cannot deadlock
+    if (order < 0) {
+      adjust(from, -1);
+      adjust(to, 1);
+    } else {
+      adjust(to, 1);
+      adjust(from, -1);
+    }
+  }
+
+  @Override
+  @Transactional
+  public int rebuild() {
+    counterRepository.deleteAllCounters();
+    int counters = counterRepository.insertCountsFromProducts();
+    log.info("Rebuilt product facet counts: {} counters", counters);
+    return counters;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<String, Long> countByBrand() {
+    return toMap(counterRepository.countActiveByBrand());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<String, Long> countByCategory() {
+    return toMap(counterRepository.countActiveByCategory());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<String, Long> countByBrandInCategory(String category) {
+    return toMap(counterRepository.countActiveByBrandInCategory(category));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<String, Long> countByCategoryForBrand(String brand) {
+    return toMap(counterRepository.countActiveByCategoryForBrand(brand));
+  }
+
+  private void adjust(ProductFacetKey key, long delta) {
+    counterRepository.adjust(key.getCategory(), key.getBrand(), key.getStatus().name(), delta);
+  }
+
+  private static Map<String, Long> toMap(List<FacetValueCount> counts) {
+    Map<String, Long> map = new LinkedHashMap<>();
+    counts.forEach(count -> map.put(count.value(), count.count()));
+    return map;
+  }
+}
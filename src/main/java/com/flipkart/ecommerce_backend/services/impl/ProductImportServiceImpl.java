@@ -0,0 +1,249 @@
+package com.flipkart.ecommerce_backend.services.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.flipkart.ecommerce_backend.dtos.ProductCreateDto;
+import com.flipkart.ecommerce_backend.dtos.ProductImportError;
+import com.flipkart.ecommerce_backend.dtos.ProductImportFormat;
+import com.flipkart.ecommerce_backend.dtos.ProductImportResult;
+import com.flipkart.ecommerce_backend.models.Product;
+import com.flipkart.ecommerce_backend.models.ProductFacetKey;
+import com.flipkart.ecommerce_backend.models.ProductStatus;
+import com.flipkart.ecommerce_backend.models.ProductVariant;
+import com.flipkart.ecommerce_backend.repository.ProductRepository;
+import com.flipkart.ecommerce_backend.repository.ProductVariantRepository;
+import com.flipkart.ecommerce_backend.search.ProductSearchDocument;
+import com.flipkart.ecommerce_backend.search.ProductSearchIndex;
+import com.flipkart.ecommerce_backend.services.ProductFacetService;
+import com.flipkart.ecommerce_backend.services.ProductImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams the upload row by row and writes it in chunks of {@code app.import.batch-size} rows, one
+ * transaction per chunk, so that Hibernate sends the inserts as JDBC batches. SKUs are checked
+ * against a set loaded once up front rather than with a query per row. If a chunk fails in the
+ * database its rows are retried one by one, so a bad row only costs itself.
+ *
+ * <p>Malformed input or a broken upload stops the reading, not the import: the rows read so far are
+ * written and the report lists where it stopped, so a client can tell what was imported.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements ProductImportService {
+
+  private static final int MAX_REPORTED_ERRORS = 1000;
+
+  private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+  private final ProductRepository productRepository;
+  private final ProductVariantRepository productVariantRepository;
+  private final ProductFacetService productFacetService;
+  private final ProductSearchIndex productSearchIndex;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final PlatformTransactionManager transactionManager;
+  private final EntityManager entityManager;
+
+  @Value("${app.import.batch-size:500}")
+  private int batchSize;
+
+  @Override
+  public ProductImportResult importProducts(InputStream input, ProductImportFormat format) {
+    long start = System.currentTimeMillis();
+    Set<String> knownSkus = new HashSet<>(productVariantRepository.findAllSkus());
+    ImportReport report = new ImportReport();
+    List<ImportRow> chunk = new ArrayList<>(batchSize);
+    long rowNumber = 0;
+
+    try (MappingIterator<ProductCreateDto> rows = reader(format).readValues(input)) {
+      while (true) {
+        ProductCreateDto row;
+        rowNumber++;
+        try {
+          if (!rows.hasNextValue()) {
+            break;
+          }
+          row = rows.nextValue();
+        } catch (JsonParseException e) {
+          // Malformed input cannot be resynchronised reliably, so stop reading here
+          report.fail(rowNumber, null, "Malformed input: " + e.getOriginalMessage());
+          break;
+        } catch (JsonMappingException e) {
+          report.fail(rowNumber, null, "Invalid row: " + e.getOriginalMessage());
+          continue;
+        } catch (IOException e) {
+          // The upload broke off; what was read so far is still written and reported
+          log.error("Bulk product import stopped reading at row {}: {}", rowNumber, e.getMessage());
+          report.fail(rowNumber, null, "Could not read the import file: " + e.getMessage());
+          break;
+        }
+
+        String error = validate(row);
+        if (error != null) {
+          report.fail(rowNumber, row.sku(), error);
+        } else if (!knownSkus.add(row.sku())) {
+          report.fail(rowNumber, row.sku(), "SKU '" + row.sku() + "' already exists.");
+        } else {
+          chunk.add(new ImportRow(rowNumber, row));
+          if (chunk.size() >= batchSize) {
+            writeChunk(chunk, report);
+            chunk.clear();
+          }
+        }
+      }
+    } catch (IOException e) {
+      // Opening or closing the reader failed
+      log.error("Bulk product import aborted: {}", e.getMessage(), e);
+      report.fail(rowNumber, null, "Could not read the import file: " + e.getMessage());
+    } finally {
+      // Rows already read are written even if reading stops early
+      if (!chunk.isEmpty()) {
+        writeChunk(chunk, report);
+      }
+    }
+
+    log.info(
+        "Bulk product import finished: {} imported, {} failed in {} ms",
+        report.imported,
+        report.failed,
+        System.currentTimeMillis() - start);
+    return report.toResult();
+  }
+
+  private ObjectReader reader(ProductImportFormat format) {
+    return switch (format) {
+      case CSV -> CSV_MAPPER
+          .readerFor(ProductCreateDto.class)
+          .with(CsvSchema.emptySchema().withHeader())
+          .with(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+          .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+      case NDJSON -> objectMapper
+          .readerFor(ProductCreateDto.class)
+          .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    };
+  }
+
+  private String validate(ProductCreateDto row) {
+    Set<ConstraintViolation<ProductCreateDto>> violations = validator.validate(row);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  private void writeChunk(List<ImportRow> chunk, ImportReport report) {
+    List<Product> products;
+    try {
+      products = persist(chunk);
+    } catch (RuntimeException e) {
+      if (chunk.size() == 1) {
+        ImportRow row = chunk.get(0);
+        log.warn("Import of SKU '{}' failed: {}", row.dto().sku(), e.getMessage());
+        report.fail(row.rowNumber(), row.dto().sku(), "Could not save product");
+        return;
+      }
+      log.warn("Import chunk of {} rows failed, retrying row by row", chunk.size());
+      chunk.forEach(row -> writeChunk(List.of(row), report));
+      return;
+    }
+    report.imported += products.size();
+    productSearchIndex.indexAll(
+        products.stream()
+            .map(
+                product ->
+                    new ProductSearchDocument(
+                        product.getId(),
+                        product.getName(),
+                        product.getShortDescription(),
+                        product.getBrand(),
+                        product.getCategory()))
+            .toList());
+  }
+
+  private List<Product> persist(List<ImportRow> chunk) {
+    List<Product> products = chunk.stream().map(row -> toProduct(row.dto())).toList();
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              productRepository.saveAll(products);
+              products.stream()
+                  .collect(Collectors.groupingBy(ProductFacetKey::of, Collectors.counting()))
+                  .forEach(productFacetService::recordCreated);
+              // Open-in-view keeps one persistence context for the whole upload; detach the
+              // chunk so later flushes don't keep dirty-checking every product imported so far
+              entityManager.flush();
+              entityManager.clear();
+            });
+    return products;
+  }
+
+  private Product toProduct(ProductCreateDto dto) {
+    Product product = new Product();
+    product.setName(dto.name());
+    product.setShortDescription(dto.shortDescription());
+    product.setLongDescription(dto.longDescription());
+    product.setPrice(dto.basePrice());
+    product.setCategory(dto.category());
+    product.setBrand(dto.brand());
+    product.setImageUrl(dto.imageUrl());
+    product.setStatus(ProductStatus.DRAFT);
+
+    ProductVariant variant = new ProductVariant();
+    variant.setProduct(product);
+    variant.setSku(dto.sku());
+    variant.setPrice(dto.variantPrice() != null ? dto.variantPrice() : dto.basePrice());
+    variant.setQuantity(dto.initialQuantity() != null ? dto.initialQuantity() : 0);
+    variant.setColor(dto.color());
+    variant.setSize(dto.size());
+    variant.setImageUrl(dto.variantImageUrl());
+    // Saved through the cascade from the product
+    product.getVariants().add(variant);
+    return product;
+  }
+
+  private record ImportRow(long rowNumber, ProductCreateDto dto) {}
+
+  private static class ImportReport {
+    private final List<ProductImportError> errors = new ArrayList<>();
+    private long imported;
+    private long failed;
+
+    void fail(long rowNumber, String sku, String message) {
+      failed++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new ProductImportError(rowNumber, sku, message));
+      }
+    }
+
+    ProductImportResult toResult() {
+      return new ProductImportResult(
+          imported + failed, imported, failed, List.copyOf(errors), failed > errors.size());
+    }
+  }
+}
@@ -1,28 +1,61 @@
 package com.flipkart.ecommerce_backend.services.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flipkart.ecommerce_backend.cache.ProductDetailCache;
+import com.flipkart.ecommerce_backend.constants.AppConstants;
 import com.flipkart.ecommerce_backend.dtos.ProductCreateDto;
+import com.flipkart.ecommerce_backend.dtos.ProductCursor;
+import com.flipkart.ecommerce_backend.dtos.ProductCursorPage;
 import com.flipkart.ecommerce_backend.dtos.ProductDto;
+import com.flipkart.ecommerce_backend.dtos.ProductFacetCount;
+import com.flipkart.ecommerce_backend.dtos.ProductFacets;
+import com.flipkart.ecommerce_backend.dtos.ProductListingDto;
+import com.flipkart.ecommerce_backend.dtos.ProductQueryRequest;
+import com.flipkart.ecommerce_backend.dtos.ProductQueryResult;
 import com.flipkart.ecommerce_backend.dtos.ProductUpdateDto;
 import com.flipkart.ecommerce_backend.dtos.ProductVariantDto;
+import com.flipkart.ecommerce_backend.events.ProductChangedEvent;
 import com.flipkart.ecommerce_backend.exception.DatabaseException;
 import com.flipkart.ecommerce_backend.exception.product.ProductException;
 import com.flipkart.ecommerce_backend.exception.product.ProductNotFoundException;
 import com.flipkart.ecommerce_backend.exception.product.SkuAlreadyExistsException;
 import com.flipkart.ecommerce_backend.handler.ErrorCode;
 import com.flipkart.ecommerce_backend.models.Product;
+import com.flipkart.ecommerce_backend.models.ProductFacetKey;
 import com.flipkart.ecommerce_backend.models.ProductStatus;
 import com.flipkart.ecommerce_backend.models.ProductVariant;
 import com.flipkart.ecommerce_backend.repository.ProductRepository;
 import com.flipkart.ecommerce_backend.repository.ProductVariantRepository;
+import com.flipkart.ecommerce_backend.search.ProductSearchIndex;
+import com.flipkart.ecommerce_backend.services.ProductFacetService;
 import com.flipkart.ecommerce_backend.services.ProductService;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,15 +65,36 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+  private static final int EXPORT_BATCH_SIZE = 500;
+
   private final ProductRepository productRepository;
   private final ProductVariantRepository productVariantRepository;
+  private final ProductDetailCache productDetailCache;
+  private final ProductSearchIndex productSearchIndex;
+  private final ProductFacetService productFacetService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
+  private final EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<ProductListingDto> getProducts(Pageable pageable) {
+    try {
+      Page<UUID> idPage = productRepository.findActiveIds(pageable);
+      return loadPage(idPage);
+    } catch (Exception e) {
+      throw new ProductException(ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products");
+    }
+  }
 
   @Override
   @Transactional(readOnly = true)
-  public Page<ProductDto> getProducts(Pageable pageable) {
+  public ProductCursorPage getProductsAfter(String cursor, int size) {
+    ProductCursor after = decodeCursor(cursor);
     try {
-      Page<Product> productPage = productRepository.findAll(pageable);
-      return productPage.map(this::mapToDto);
+      List<UUID> ids =
+          productRepository.findActiveIdsAfter(after.createdAt(), after.id(), lookAheadLimit(size));
+      return loadSlice(ids, sliceSize(size));
     } catch (Exception e) {
       throw new ProductException(ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products");
     }
@@ -48,16 +102,126 @@ public class ProductServiceImpl implements ProductService {
 
   @Override
   @Transactional(readOnly = true)
-  public Page<ProductDto> getProductsByKeyword(String keyword, Pageable pageable) {
+  public ProductCursorPage getProductsByCategoryAfter(String category, String cursor, int size) {
+    ProductCursor after = decodeCursor(cursor);
+    try {
+      List<UUID> ids =
+          productRepository.findIdsByCategoryAfter(
+              category, after.createdAt(), after.id(), lookAheadLimit(size));
+      return loadSlice(ids, sliceSize(size));
+    } catch (Exception e) {
+      throw new ProductException(
+          ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products by category");
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public ProductCursorPage getProductsByBrandAfter(String brand, String cursor, int size) {
+    ProductCursor after = decodeCursor(cursor);
     try {
-      Page<Product> productPage = productRepository.findByNameContaining(keyword, pageable);
-      return productPage.map(this::mapToDto);
+      List<UUID> ids =
+          productRepository.findIdsByBrandAfter(
+              brand, after.createdAt(), after.id(), lookAheadLimit(size));
+      return loadSlice(ids, sliceSize(size));
+    } catch (Exception e) {
+      throw new ProductException(
+          ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products by brand");
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public ProductCursorPage getProductsByPriceRangeAfter(
+      Double min, Double max, String cursor, int size) {
+    ProductCursor after = decodeCursor(cursor);
+    try {
+      List<UUID> ids =
+          productRepository.findIdsByPriceBetweenAfter(
+              min, max, after.createdAt(), after.id(), lookAheadLimit(size));
+      return loadSlice(ids, sliceSize(size));
+    } catch (Exception e) {
+      throw new ProductException(
+          ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products by variantPrice range");
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<ProductListingDto> getProductsByKeyword(String keyword, Pageable pageable) {
+    try {
+      // Until the in-memory index has been built, fall back to the (unindexed) LIKE query
+      Page<UUID> idPage =
+          productSearchIndex.isReady()
+              ? productSearchIndex.search(keyword, pageable)
+              : productRepository.findIdsByNameContaining(keyword, pageable);
+      return loadPage(idPage);
     } catch (Exception e) {
       throw new ProductException(
           ErrorCode.INTERNAL_SERVER_ERROR, "Error searching products by keyword");
     }
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public ProductQueryResult queryProducts(ProductQueryRequest filter, Pageable pageable) {
+    try {
+      // The grouped facet rows partition the matches, so they also yield the total count
+      List<ProductFacetCount> facetCounts = productRepository.countFacetsByFilter(filter);
+      long total = facetCounts.stream().mapToLong(ProductFacetCount::count).sum();
+      List<UUID> ids =
+          pageable.isPaged() && pageable.getOffset() >= total
+              ? List.of()
+              : productRepository.findIdsByFilter(filter, pageable);
+      List<ProductListingDto> content = loadInOrder(ids);
+      return new ProductQueryResult(
+          new PageImpl<>(content, pageable, total), toFacets(facetCounts));
+    } catch (IllegalArgumentException e) {
+      throw new ProductException(ErrorCode.BAD_REQUEST, e.getMessage());
+    } catch (Exception e) {
+      throw new ProductException(ErrorCode.INTERNAL_SERVER_ERROR, "Error while querying products");
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void exportProducts(OutputStream out) throws IOException {
+    ObjectWriter writer =
+        objectMapper
+            .writerFor(ProductDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    long exported = 0;
+    try (Stream<Product> products = productRepository.streamActive();
+        JsonGenerator generator =
+            objectMapper
+                .getFactory()
+                .createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+      List<Product> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+      for (Iterator<Product> it = products.iterator(); it.hasNext(); ) {
+        batch.add(it.next());
+        if (batch.size() == EXPORT_BATCH_SIZE || !it.hasNext()) {
+          Map<UUID, List<ProductVariant>> variants =
+              productVariantRepository
+                  .findByProductIdIn(batch.stream().map(Product::getId).toList())
+                  .stream()
+                  .collect(Collectors.groupingBy(variant -> variant.getProduct().getId()));
+          for (Product product : batch) {
+            writer.writeValue(
+                generator, mapToDto(product, variants.getOrDefault(product.getId(), List.of())));
+            generator.writeRaw('\n');
+          }
+          generator.flush();
+          exported += batch.size();
+          batch.clear();
+          // Detach the written products so the persistence context stays small
+          entityManager.clear();
+        }
+      }
+    }
+    log.info("Exported {} products", exported);
+  }
+
   @Override
   @Transactional
   public ProductDto addProduct(ProductCreateDto productCreateDto) {
@@ -134,17 +298,44 @@ public class ProductServiceImpl implements ProductService {
         savedProduct.getId(),
         variant.getSku());
 
+    productFacetService.recordCreated(ProductFacetKey.of(savedProduct));
+    eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId()));
     return mapToDto(savedProduct);
   }
 
+  // Not @Transactional: a cache hit must not check out a connection. Misses load the product and
+  // its variants with a single fetch-join query.
   @Override
-  @Transactional(readOnly = true)
   public ProductDto getProduct(UUID id) {
-    Product product =
+    return productDetailCache.get(
+        id,
+        key ->
+            productRepository
+                .findByIdWithVariants(key)
+                .map(this::mapToDto)
+                .orElseThrow(
+                    () -> new ProductNotFoundException("Product not found with id: " + key)));
+  }
+
+  // Not @Transactional either: only the cache misses are loaded, with one IN fetch-join. They are
+  // not written back, because a bulk put can race with an after-commit invalidation and re-insert
+  // a stale entry; single-product reads populate the cache atomically.
+  @Override
+  public List<ProductDto> getProductsByIds(List<UUID> ids) {
+    Set<UUID> uniqueIds = new LinkedHashSet<>(ids);
+    Map<UUID, ProductDto> found = new HashMap<>(productDetailCache.getAllPresent(uniqueIds));
+    List<UUID> misses = uniqueIds.stream().filter(id -> !found.containsKey(id)).toList();
+    if (!misses.isEmpty()) {
+      try {
         productRepository
-            .findById(id)
-            .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
-    return mapToDto(product);
+            .findAllWithVariantsByIdIn(misses)
+            .forEach(product -> found.put(product.getId(), mapToDto(product)));
+      } catch (Exception e) {
+        throw new ProductException(
+            ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products");
+      }
+    }
+    return uniqueIds.stream().map(found::get).filter(Objects::nonNull).toList();
   }
 
   @Override
@@ -154,8 +345,11 @@ public class ProductServiceImpl implements ProductService {
         productRepository
             .findById(id)
             .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+    ProductFacetKey before = ProductFacetKey.of(product);
     product.setStatus(ProductStatus.DELETED);
     productRepository.save(product);
+    productFacetService.recordMoved(before, ProductFacetKey.of(product));
+    eventPublisher.publishEvent(new ProductChangedEvent(id));
   }
 
   @Override
@@ -166,8 +360,11 @@ public class ProductServiceImpl implements ProductService {
             .findById(id)
             .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
     try {
+      ProductFacetKey before = ProductFacetKey.of(product);
       updateProductEntity(product, productUpdateDto);
       product = productRepository.save(product);
+      productFacetService.recordMoved(before, ProductFacetKey.of(product));
+      eventPublisher.publishEvent(new ProductChangedEvent(id));
       return mapToDto(product);
     } catch (Exception e) {
       throw new ProductException(ErrorCode.INTERNAL_SERVER_ERROR, "Error while updating product");
@@ -176,10 +373,10 @@ public class ProductServiceImpl implements ProductService {
 
   @Override
   @Transactional(readOnly = true)
-  public Page<ProductDto> getProductsByCategory(String category, Pageable pageable) {
+  public Page<ProductListingDto> getProductsByCategory(String category, Pageable pageable) {
     try {
-      Page<Product> productPage = productRepository.findByCategory(category, pageable);
-      return productPage.map(this::mapToDto);
+      Page<UUID> idPage = productRepository.findIdsByCategory(category, pageable);
+      return loadPage(idPage);
     } catch (Exception e) {
       throw new ProductException(
           ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products by category");
@@ -188,10 +385,10 @@ public class ProductServiceImpl implements ProductService {
 
   @Override
   @Transactional(readOnly = true)
-  public Page<ProductDto> getProductsByBrand(String brand, Pageable pageable) {
+  public Page<ProductListingDto> getProductsByBrand(String brand, Pageable pageable) {
     try {
-      Page<Product> productPage = productRepository.findByBrand(brand, pageable);
-      return productPage.map(this::mapToDto);
+      Page<UUID> idPage = productRepository.findIdsByBrand(brand, pageable);
+      return loadPage(idPage);
     } catch (Exception e) {
       throw new ProductException(
           ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products by brand");
@@ -200,10 +397,10 @@ public class ProductServiceImpl implements ProductService {
 
   @Override
   @Transactional(readOnly = true)
-  public Page<ProductDto> getProductsByStatus(ProductStatus status, Pageable pageable) {
+  public Page<ProductListingDto> getProductsByStatus(ProductStatus status, Pageable pageable) {
     try {
-      Page<Product> productPage = productRepository.findByStatus(status, pageable);
-      return productPage.map(this::mapToDto);
+      Page<UUID> idPage = productRepository.findIdsByStatus(status, pageable);
+      return loadPage(idPage);
     } catch (Exception e) {
       throw new ProductException(
           ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products by status");
@@ -212,10 +409,11 @@ public class ProductServiceImpl implements ProductService {
 
   @Override
   @Transactional(readOnly = true)
-  public Page<ProductDto> getProductsByPriceRange(Double min, Double max, Pageable pageable) {
+  public Page<ProductListingDto> getProductsByPriceRange(
+      Double min, Double max, Pageable pageable) {
     try {
-      Page<Product> productPage = productRepository.findByPriceBetween(min, max, pageable);
-      return productPage.map(this::mapToDto);
+      Page<UUID> idPage = productRepository.findIdsByPriceBetween(min, max, pageable);
+      return loadPage(idPage);
     } catch (Exception e) {
       throw new ProductException(
           ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products by variantPrice range");
@@ -224,12 +422,12 @@ public class ProductServiceImpl implements ProductService {
 
   @Override
   @Transactional(readOnly = true)
-  public Page<ProductDto> getProductsByCategoryAndPriceRange(
+  public Page<ProductListingDto> getProductsByCategoryAndPriceRange(
       String category, Double min, Double max, Pageable pageable) {
     try {
-      Page<Product> productPage =
-          productRepository.findByCategoryAndPriceBetween(category, min, max, pageable);
-      return productPage.map(this::mapToDto);
+      Page<UUID> idPage =
+          productRepository.findIdsByCategoryAndPriceBetween(category, min, max, pageable);
+      return loadPage(idPage);
     } catch (Exception e) {
       throw new ProductException(
           ErrorCode.INTERNAL_SERVER_ERROR,
@@ -239,12 +437,11 @@ public class ProductServiceImpl implements ProductService {
 
   @Override
   @Transactional(readOnly = true)
-  public Page<ProductDto> getProductsByCategoryAndBrand(
+  public Page<ProductListingDto> getProductsByCategoryAndBrand(
       String category, String brand, Pageable pageable) {
     try {
-      Page<Product> productPage =
-          productRepository.findByCategoryAndBrand(category, brand, pageable);
-      return productPage.map(this::mapToDto);
+      Page<UUID> idPage = productRepository.findIdsByCategoryAndBrand(category, brand, pageable);
+      return loadPage(idPage);
     } catch (Exception e) {
       throw new ProductException(
           ErrorCode.INTERNAL_SERVER_ERROR, "Error while fetching products by category and brand");
@@ -253,13 +450,13 @@ public class ProductServiceImpl implements ProductService {
 
   @Override
   @Transactional(readOnly = true)
-  public Page<ProductDto> getProductsByCategoryAndBrandAndPriceRange(
+  public Page<ProductListingDto> getProductsByCategoryAndBrandAndPriceRange(
       String category, String brand, Double min, Double max, Pageable pageable) {
     try {
-      Page<Product> productPage =
-          productRepository.findByCategoryAndBrandAndPriceBetween(
+      Page<UUID> idPage =
+          productRepository.findIdsByCategoryAndBrandAndPriceBetween(
               category, brand, min, max, pageable);
-      return productPage.map(this::mapToDto);
+      return loadPage(idPage);
     } catch (Exception e) {
       throw new ProductException(
           ErrorCode.INTERNAL_SERVER_ERROR,
@@ -267,6 +464,74 @@ public class ProductServiceImpl implements ProductService {
     }
   }
 
+  /**
+   * Second phase of a paged listing: hydrates the products for one page of ids, with their
+   * variants, in a single query and keeps the order chosen by the id query.
+   */
+  private Page<ProductListingDto> loadPage(Page<UUID> idPage) {
+    List<ProductListingDto> content = loadInOrder(idPage.getContent());
+    return new PageImpl<>(content, idPage.getPageable(), idPage.getTotalElements());
+  }
+
+  /** Folds the per (brand, category, price range) counts into one count per facet value. */
+  private ProductFacets toFacets(List<ProductFacetCount> facetCounts) {
+    Map<String, Long> brands = new LinkedHashMap<>();
+    Map<String, Long> categories = new LinkedHashMap<>();
+    Map<String, Long> priceRanges = new LinkedHashMap<>();
+    for (ProductFacetCount row : facetCounts) {
+      brands.merge(row.brand(), row.count(), Long::sum);
+      categories.merge(row.category(), row.count(), Long::sum);
+      priceRanges.merge(row.priceRange(), row.count(), Long::sum);
+    }
+    return new ProductFacets(brands, categories, priceRanges);
+  }
+
+  /**
+   * Keyset counterpart of {@link #loadPage}: {@code ids} holds up to {@code size + 1} ids, the
+   * extra one only signalling that another slice exists.
+   */
+  private ProductCursorPage loadSlice(List<UUID> ids, int size) {
+    boolean hasNext = ids.size() > size;
+    List<ProductListingDto> content = loadInOrder(hasNext ? ids.subList(0, size) : ids);
+    String nextCursor = null;
+    if (hasNext && !content.isEmpty()) {
+      ProductListingDto last = content.get(content.size() - 1);
+      nextCursor = new ProductCursor(last.createdAt(), last.id()).encode();
+    }
+    return new ProductCursorPage(content, nextCursor, hasNext);
+  }
+
+  private List<ProductListingDto> loadInOrder(List<UUID> ids) {
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Map<UUID, ProductListingDto> productsById =
+        productRepository.findListingsByIdIn(ids).stream()
+            .collect(Collectors.toMap(ProductListingDto::id, Function.identity()));
+    return ids.stream()
+        .map(productsById::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  private ProductCursor decodeCursor(String cursor) {
+    try {
+      return ProductCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected malformed product cursor: {}", cursor);
+      throw new ProductException(ErrorCode.BAD_REQUEST, "Invalid product cursor");
+    }
+  }
+
+  /** Clamps the requested slice size to {@code [1, MAX_PAGE_SIZE]} and adds the look-ahead row. */
+  private static Limit lookAheadLimit(int size) {
+    return Limit.of(sliceSize(size) + 1);
+  }
+
+  private static int sliceSize(int size) {
+    return Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+  }
+
   private ProductVariantDto mapVariantToDto(ProductVariant variant) {
     if (variant == null) return null;
     return new ProductVariantDto(
@@ -280,12 +545,12 @@ public class ProductServiceImpl implements ProductService {
   }
 
   private ProductDto mapToDto(Product product) {
-    List<ProductVariantDto> variantDtos =
-        product.getVariants() == null
-            ? Collections.emptyList()
-            : product.getVariants().stream()
-                .map(this::mapVariantToDto)
-                .collect(Collectors.toList());
+    return mapToDto(
+        product, product.getVariants() == null ? Collections.emptyList() : product.getVariants());
+  }
+
+  private ProductDto mapToDto(Product product, List<ProductVariant> variants) {
+    List<ProductVariantDto> variantDtos = variants.stream().map(this::mapVariantToDto).toList();
     return new ProductDto(
         product.getId(),
         product.getName(),
@@ -7,16 +7,16 @@ import com.flipkart.ecommerce_backend.handler.ErrorCode;
 import com.flipkart.ecommerce_backend.models.LocalUser;
 import com.flipkart.ecommerce_backend.models.RefreshToken;
 import com.flipkart.ecommerce_backend.security.exception.TokenException;
+import com.flipkart.ecommerce_backend.security.jwt.JwtKeyRing;
+import com.flipkart.ecommerce_backend.security.jwt.JwtVerifier;
+import com.flipkart.ecommerce_backend.security.principal.JwtPrincipalFactory;
 import com.flipkart.ecommerce_backend.security.store.TokenStore;
 import com.flipkart.ecommerce_backend.services.TokenService;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.util.Date;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.crypto.SecretKey;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -30,13 +30,12 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class TokenServiceImpl implements TokenService {
 
-  @Value("${app.jwt.secret}")
-  private String jwtSecret;
-
   @Value("${app.jwt.access-token.expiration-ms}")
   private long accessTokenValidityMs;
 
   private final TokenStore tokenStore;
+  private final JwtKeyRing jwtKeyRing;
+  private final JwtVerifier jwtVerifier;
 
   @Override
   public LoginResponse generateTokens(Authentication authentication) {
@@ -53,12 +52,34 @@ public class TokenServiceImpl implements TokenService {
           "UserDetails must be an instance of LocalUser to generate tokens properly.");
     }
 
-    // Create the Access Token
-    String accessToken = createAccessTokenInternal(localUser);
-
     // Create and Persist the Refresh Token via TokenStore
     RefreshToken refreshToken = tokenStore.createAndPersistRefreshToken(localUser);
 
+    log.info("Generated new token pair for user: {}", localUser.getUsername());
+    return buildLoginResponse(localUser, refreshToken);
+  }
+
+  @Override
+  public LoginResponse refreshTokens(String refreshToken) {
+    RefreshToken current =
+        tokenStore
+            .findByToken(refreshToken)
+            .orElseThrow(
+                () -> new TokenException(ErrorCode.TOKEN_INVALID, "Refresh token not found"));
+    tokenStore.verifyExpiration(current);
+    LocalUser user = current.getUser();
+    RefreshToken next =
+        tokenStore
+            .rotate(refreshToken, user)
+            .orElseThrow(
+                () -> new TokenException(ErrorCode.TOKEN_INVALID, "Refresh token already used"));
+    log.info("Rotated refresh token for user: {}", user.getUsername());
+    return buildLoginResponse(user, next);
+  }
+
+  private LoginResponse buildLoginResponse(LocalUser localUser, RefreshToken refreshToken) {
+    String accessToken = createAccessTokenInternal(localUser);
+
     UserDto userInfo =
         UserDto.builder()
             .id(localUser.getId())
@@ -68,7 +89,6 @@ public class TokenServiceImpl implements TokenService {
             .lastName(localUser.getLastName())
             .build();
 
-    log.info("Generated new token pair for user: {}", localUser.getUsername());
     return LoginResponse.builder()
         .message("Token pair generated successfully")
         .accessToken(accessToken)
@@ -83,7 +103,7 @@ public class TokenServiceImpl implements TokenService {
   }
 
   /** Internal helper to generate the JWT Access Token. */
-  private String createAccessTokenInternal(UserDetails user) {
+  private String createAccessTokenInternal(LocalUser user) {
     Date now = new Date();
     Date expiryDate = new Date(now.getTime() + accessTokenValidityMs);
 
@@ -92,14 +112,17 @@ public class TokenServiceImpl implements TokenService {
             .map(GrantedAuthority::getAuthority)
             .collect(Collectors.joining(","));
 
-    SecretKey key = getSigningKey();
-
     return Jwts.builder()
+        .header()
+        .keyId(jwtKeyRing.getSigningKeyId())
+        .and()
         .subject(user.getUsername())
-        .claim("auth", authorities)
+        .claim(JwtPrincipalFactory.AUTHORITIES_CLAIM, authorities)
+        .claim(JwtPrincipalFactory.USER_ID_CLAIM, user.getId().toString())
+        .claim(JwtPrincipalFactory.VERSION_CLAIM, user.getSecurityVersion())
         .issuedAt(now)
         .expiration(expiryDate)
-        .signWith(key, Jwts.SIG.HS512)
+        .signWith(jwtKeyRing.getSigningKey(), Jwts.SIG.HS512)
         .compact();
   }
 
@@ -112,8 +135,7 @@ public class TokenServiceImpl implements TokenService {
   @Override
   public Claims extractClaims(String token) {
     try {
-      SecretKey key = getSigningKey();
-      return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+      return jwtVerifier.verify(token);
     } catch (ExpiredJwtException e) {
       log.warn("JWT token is expired: {}", e.getMessage());
       throw new TokenException(ErrorCode.TOKEN_INVALID, "JWT token is expired");
@@ -165,14 +187,4 @@ public class TokenServiceImpl implements TokenService {
     log.info("Deleting refresh token");
     tokenStore.deleteToken(token);
   }
-
-  /**
-   * Generates the SecretKey used for signing and verifying JWTs.
-   *
-   * @return The SecretKey instance.
-   */
-  private SecretKey getSigningKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(this.jwtSecret);
-    return Keys.hmacShaKeyFor(keyBytes);
-  }
 }
@@ -1,8 +1,10 @@
 package com.flipkart.ecommerce_backend.services.impl;
 
+import com.flipkart.ecommerce_backend.cache.UserDetailsCache;
 import com.flipkart.ecommerce_backend.dtos.RegistrationRequest;
 import com.flipkart.ecommerce_backend.dtos.UserDto;
 import com.flipkart.ecommerce_backend.dtos.UserUpdateRequest;
+import com.flipkart.ecommerce_backend.events.UserChangedEvent;
 import com.flipkart.ecommerce_backend.exception.DatabaseException;
 import com.flipkart.ecommerce_backend.exception.role.RoleNotFoundException;
 import com.flipkart.ecommerce_backend.exception.user.UserAlreadyExistsException;
@@ -19,6 +21,7 @@ import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -39,6 +42,10 @@ public class UserManagementServiceImpl implements UserManagementService {
 
   @Autowired private TokenStore tokenStore;
 
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  @Autowired private UserDetailsCache userDetailsCache;
+
   @Override
   @Transactional
   public UserDto registerUser(RegistrationRequest registrationRequest) {
@@ -91,17 +98,18 @@ public class UserManagementServiceImpl implements UserManagementService {
   }
 
   @Override
-  @Transactional(readOnly = true)
+  // Not transactional: a cache hit must not take a connection
   public UserDto findUserDTOByUsernameOrEmail(String usernameOrEmail) {
     log.debug("Finding user DTO by username or email: {}", usernameOrEmail);
     LocalUser user =
-        userRepository
-            .findByUsernameIgnoreCase(usernameOrEmail)
-            .or(() -> userRepository.findByEmailIgnoreCase(usernameOrEmail))
-            .orElseThrow(
-                () ->
-                    new UserNotFoundException(
-                        "User not found with username or email: " + usernameOrEmail));
+        userDetailsCache.get(
+            usernameOrEmail,
+            login ->
+                findByLoginInternal(login)
+                    .orElseThrow(
+                        () ->
+                            new UserNotFoundException(
+                                "User not found with username or email: " + login)));
     return mapToUserDTO(user);
   }
 
@@ -149,6 +157,7 @@ public class UserManagementServiceImpl implements UserManagementService {
 
     Optional.ofNullable(request.firstName()).ifPresent(user::setFirstName);
     Optional.ofNullable(request.lastName()).ifPresent(user::setLastName);
+    boolean wasEnabled = user.isEnabled();
     Optional.ofNullable(request.enabled()).ifPresent(user::setEnabled);
 
     // Handle email change
@@ -179,10 +188,17 @@ public class UserManagementServiceImpl implements UserManagementService {
                               () -> new RoleNotFoundException("Role not found: " + roleName)))
               .collect(Collectors.toSet());
       log.debug("Updating roles for user ID {}: new roles = {}", userId, request.roles());
-      user.setRoles(newRoles);
+      if (!newRoles.equals(user.getRoles())) {
+        user.setRoles(newRoles);
+        user.revokeAccessTokens();
+      }
+    }
+    if (wasEnabled && !user.isEnabled()) {
+      user.revokeAccessTokens();
     }
 
     LocalUser updatedUser = saveUserInternal(user);
+    eventPublisher.publishEvent(new UserChangedEvent(userId));
     log.info("User updated successfully for ID: {}", userId);
     return mapToUserDTO(updatedUser);
   }
@@ -194,6 +210,7 @@ public class UserManagementServiceImpl implements UserManagementService {
     LocalUser user = findUserByIdInternal(userId);
     tokenStore.deleteUserTokens(user);
     userRepository.delete(user);
+    eventPublisher.publishEvent(new UserChangedEvent(userId));
     log.warn("User deleted successfully with ID: {}", userId);
   }
 
@@ -222,8 +239,10 @@ public class UserManagementServiceImpl implements UserManagementService {
     }
     LocalUser user = findUserByIdInternal(userId);
     user.setPassword(passwordEncoder.encode(newPassword));
+    user.revokeAccessTokens();
     saveUserInternal(user);
     tokenStore.deleteUserTokens(user);
+    eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
     log.warn("[ADMIN ACTION] Password changed and tokens invalidated for user ID: {}", userId);
   }
 
@@ -236,29 +255,56 @@ public class UserManagementServiceImpl implements UserManagementService {
     }
     LocalUser user = findUserByEmailInternal(email);
     user.setPassword(passwordEncoder.encode(newPassword));
+    user.revokeAccessTokens();
     saveUserInternal(user);
     tokenStore.deleteUserTokens(user);
+    eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
     log.warn("[ADMIN ACTION] Password reset and tokens invalidated for email: {}", email);
   }
 
   @Override
-  @Transactional(readOnly = true)
+  // Not transactional: a cache hit must not take a connection
   public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
     log.debug("Attempting to load user by username or email: {}", usernameOrEmail);
     LocalUser user =
-        userRepository
-            .findByUsernameIgnoreCase(usernameOrEmail)
-            .or(() -> userRepository.findByEmailIgnoreCase(usernameOrEmail))
-            .orElseThrow(
-                () -> {
-                  log.warn("User not found with username or email: {}", usernameOrEmail);
-                  return new UsernameNotFoundException(
-                      "User not found with username or email: " + usernameOrEmail);
-                });
+        userDetailsCache.get(
+            usernameOrEmail,
+            login ->
+                findByLoginInternal(login)
+                    .orElseThrow(
+                        () -> {
+                          log.warn("User not found with username or email: {}", login);
+                          return new UsernameNotFoundException(
+                              "User not found with username or email: " + login);
+                        }));
     log.debug("User found: {}", user.getUsername());
     return user;
   }
 
+  /**
+   * Called by the authentication provider after a successful login whose stored hash no longer
+   * matches the current hashing settings, with the password re-encoded under them. The password
+   * itself is unchanged, so tokens are not revoked.
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+    // The principal may be a shared cached instance; update a managed copy instead
+    LocalUser user =
+        userDetails instanceof LocalUser localUser
+            ? findUserByIdInternal(localUser.getId())
+            : findByLoginInternal(userDetails.getUsername())
+                .orElseThrow(
+                    () ->
+                        new UsernameNotFoundException(
+                            "User not found with username: " + userDetails.getUsername()));
+    user.setPassword(newEncodedPassword);
+    LocalUser updatedUser = saveUserInternal(user);
+    eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    log.info("Rehashed password for user ID {} with the current hashing settings", user.getId());
+    return updatedUser;
+  }
+
   private LocalUser saveUserInternal(LocalUser user) {
     try {
       return userRepository.save(user);
@@ -268,6 +314,12 @@ public class UserManagementServiceImpl implements UserManagementService {
     }
   }
 
+  // Plain equality so the unique indexes are used; the column collation is case-insensitive
+  private Optional<LocalUser> findByLoginInternal(String usernameOrEmail) {
+    String login = usernameOrEmail.trim();
+    return userRepository.findByUsername(login).or(() -> userRepository.findByEmail(login));
+  }
+
   private LocalUser findUserByIdInternal(UUID userId) {
     return userRepository
         .findById(userId)
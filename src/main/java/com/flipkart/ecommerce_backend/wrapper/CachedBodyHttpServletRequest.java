@@ -1,74 +1,109 @@
 package com.flipkart.ecommerce_backend.wrapper;
 
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
-//import org.springframework.data.util.StreamUtils;
-import org.springframework.util.StreamUtils;
+/**
+ * Request whose body has been read into memory up front, so that it can be read again (by the rate
+ * limiter, then by the {@code @RequestBody} binding). Every {@link #getInputStream()} replays the
+ * same array without copying it.
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
 
-import jakarta.servlet.ReadListener;
-import jakarta.servlet.ServletInputStream;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletRequestWrapper;
+  private final byte[] cachedBody;
+
+  public CachedBodyHttpServletRequest(HttpServletRequest request, byte[] cachedBody) {
+    super(request);
+    this.cachedBody = cachedBody;
+  }
+
+  @Override
+  public ServletInputStream getInputStream() {
+    return new CachedServletInputStream(this.cachedBody);
+  }
+
+  @Override
+  public BufferedReader getReader() {
+    String encoding = getCharacterEncoding();
+    Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    return new BufferedReader(
+        new InputStreamReader(new ByteArrayInputStream(this.cachedBody), charset));
+  }
+
+  /** The buffered body itself, not a copy; callers must not modify it. */
+  public byte[] getCachedBody() {
+    return this.cachedBody;
+  }
+
+  private static class CachedServletInputStream extends ServletInputStream {
+
+    private final byte[] body;
+    private int position;
 
-public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper{
-    
-    private byte[] cachedBody;
+    private CachedServletInputStream(byte[] body) {
+      this.body = body;
+    }
 
-    public CachedBodyHttpServletRequest(HttpServletRequest request) throws IOException {
-	super(request);
-	ServletInputStream inputStream = request.getInputStream();
-	this.cachedBody = StreamUtils.copyToByteArray(inputStream);
+    @Override
+    public boolean isFinished() {
+      return position >= body.length;
     }
-    
+
     @Override
-    public ServletInputStream getInputStream() {
-	return new CachedServletInputStream(this.cachedBody);
+    public boolean isReady() {
+      // Everything is in memory, a read never blocks
+      return true;
     }
-    
-    public BufferedReader getReader() {
-	ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(this.cachedBody);
-	return new BufferedReader(new InputStreamReader(byteArrayInputStream));
+
+    @Override
+    public void setReadListener(ReadListener listener) {
+      try {
+        if (!isFinished()) {
+          listener.onDataAvailable();
+        }
+        listener.onAllDataRead();
+      } catch (IOException e) {
+        listener.onError(e);
+      }
+    }
+
+    @Override
+    public int read() {
+      return isFinished() ? -1 : body[position++] & 0xFF;
     }
-    
-    public String getbody() {
-	return new String(this.cachedBody);
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (isFinished()) {
+        return -1;
+      }
+      int count = Math.min(length, body.length - position);
+      System.arraycopy(body, position, buffer, offset, count);
+      position += count;
+      return count;
     }
-    
-    private static class CachedServletInputStream extends ServletInputStream {
-	private InputStream cachedBodyInputStream;
-	
-	private CachedServletInputStream (byte[] cacheRequest) {
-	    this.cachedBodyInputStream=new ByteArrayInputStream(cacheRequest);
-	}
-
-	@Override
-	public boolean isFinished() {
-	    try {
-	            return cachedBodyInputStream.available() == 0;
-	        } catch (IOException e) {
-	            return true;
-	        }
-	}
-
-	@Override
-	public boolean isReady() {
-	    return true;
-	}
-
-	@Override
-	public void setReadListener(ReadListener listener) {
-	    throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public int read() throws IOException {
-	    return cachedBodyInputStream.read();
-	}
-	
+
+    @Override
+    public int available() {
+      return body.length - position;
     }
 
+    @Override
+    public long skip(long n) {
+      int count = (int) Math.max(0, Math.min(n, body.length - position));
+      position += count;
+      return count;
+    }
+  }
 }
@@ -0,0 +1,10 @@
+-- Flyway Migration V10: stock held by unpaid (PENDING) orders, one row per order until the hold is
+-- released. Expired holds are looked up through the expires_at index.
+
+CREATE TABLE stock_reservation (
+    order_id   BIGINT       NOT NULL PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_stock_reservation_order FOREIGN KEY (order_id) REFERENCES web_order(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_stock_reservation_expires_at ON stock_reservation(expires_at);
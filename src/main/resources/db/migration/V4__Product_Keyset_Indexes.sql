@@ -0,0 +1,7 @@
+-- Flyway Migration V4: Composite indexes backing keyset (seek) pagination of the catalog.
+-- Listings continue with WHERE (created_at, id) > (?, ?) ORDER BY created_at, id, optionally
+-- narrowed by category or brand, so each index ends with (created_at, id).
+
+CREATE INDEX idx_product_created_at_id ON product (created_at, id);
+CREATE INDEX idx_product_category_created_at_id ON product (category, created_at, id);
+CREATE INDEX idx_product_brand_created_at_id ON product (brand, created_at, id);
@@ -0,0 +1,17 @@
+-- Flyway Migration V5: Materialized product counts per (category, brand, status), used for the
+-- left-nav facet counts of the catalog listings. Kept current by the product write paths and seeded
+-- here from the existing catalog.
+
+CREATE TABLE product_facet_count (
+    category      VARCHAR(100) NOT NULL,
+    brand         VARCHAR(100) NOT NULL,
+    status        VARCHAR(50)  NOT NULL,
+    product_count BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (category, brand, status)
+);
+
+INSERT INTO product_facet_count (category, brand, status, product_count)
+SELECT category, brand, status, COUNT(*)
+FROM product
+WHERE category IS NOT NULL AND brand IS NOT NULL
+GROUP BY category, brand, status;
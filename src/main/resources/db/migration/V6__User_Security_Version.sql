@@ -0,0 +1,5 @@
+-- Flyway Migration V6: Per-user security version. Access tokens carry the version they were issued
+-- under and stop being accepted once it is bumped (password, role or account status changes).
+
+ALTER TABLE local_user
+    ADD COLUMN security_version INT NOT NULL DEFAULT 0;
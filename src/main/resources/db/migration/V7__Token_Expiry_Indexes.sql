@@ -0,0 +1,6 @@
+-- Flyway Migration V7: Index token expiry dates, so the expired token purge
+-- (DELETE ... WHERE expiry_date < ? LIMIT n) is a range scan instead of a full table scan per chunk.
+
+CREATE INDEX idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
+CREATE INDEX idx_email_verification_tokens_expiry_date ON email_verification_tokens (expiry_date);
+CREATE INDEX idx_password_reset_token_expiry_date ON password_reset_token (expiry_date);
@@ -0,0 +1,9 @@
+-- Flyway Migration V8: Shared rate limit bucket state (app.rate-limit.backend=jdbc).
+-- state holds the serialized Bucket4j bucket; idle rows are purged by last_access.
+
+CREATE TABLE rate_limit_bucket (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    state BLOB,
+    last_access TIMESTAMP(3) NOT NULL,
+    INDEX idx_rate_limit_bucket_last_access (last_access)
+) ENGINE=InnoDB COMMENT='Rate limit buckets shared by all instances';
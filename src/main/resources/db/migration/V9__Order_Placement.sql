@@ -0,0 +1,9 @@
+-- Flyway Migration V9: order lines record the variant whose stock they reserved and the unit price
+-- charged. Both stay NULL on lines written before checkout existed.
+
+ALTER TABLE web_order_quantities
+    ADD COLUMN variant_id BINARY(16) NULL,
+    ADD COLUMN unit_price DECIMAL(12, 2) NULL,
+    ADD CONSTRAINT fk_woq_variant FOREIGN KEY (variant_id) REFERENCES product_variant(id);
+
+CREATE INDEX idx_woq_variant_id ON web_order_quantities(variant_id);
@@ -0,0 +1,49 @@
+package com.flipkart.ecommerce_backend.dtos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class ProductCursorTests {
+
+  @Test
+  void testEncodedCursorDecodesToTheSamePosition() {
+    ProductCursor cursor =
+        new ProductCursor(Instant.parse("2024-05-01T10:15:30.123456Z"), UUID.randomUUID());
+
+    assertEquals(cursor, ProductCursor.decode(cursor.encode()));
+  }
+
+  @Test
+  void testEncodedCursorIsUrlSafe() {
+    ProductCursor cursor = new ProductCursor(Instant.now(), UUID.randomUUID());
+
+    assertTrue(cursor.encode().matches("[A-Za-z0-9_-]+"));
+  }
+
+  @Test
+  void testMissingCursorStartsFromTheBeginning() {
+    assertSame(ProductCursor.START, ProductCursor.decode(null));
+    assertSame(ProductCursor.START, ProductCursor.decode(" "));
+  }
+
+  @Test
+  void testMalformedCursorIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode("not base64!"));
+    assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode(encodeRaw("no-sep")));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ProductCursor.decode(encodeRaw("yesterday|" + UUID.randomUUID())));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ProductCursor.decode(encodeRaw(Instant.now() + "|not-a-uuid")));
+  }
+
+  private static String encodeRaw(String raw) {
+    return Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
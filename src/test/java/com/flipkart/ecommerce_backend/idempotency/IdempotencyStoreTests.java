@@ -0,0 +1,182 @@
+package com.flipkart.ecommerce_backend.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.flipkart.ecommerce_backend.exception.idempotency.IdempotencyException;
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class IdempotencyStoreTests {
+  private final UUID userId = UUID.randomUUID();
+  private final AtomicInteger runs = new AtomicInteger();
+  private IdempotencyStore store;
+
+  private record Body(String sku, int quantity) {}
+
+  @BeforeEach
+  void setUp() {
+    store = new IdempotencyStore(new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(store, "maxEntries", 100L);
+    ReflectionTestUtils.setField(store, "ttlMs", 60_000L);
+    ReflectionTestUtils.setField(store, "waitTimeoutMs", 200L);
+    store.init();
+  }
+
+  @Test
+  void testRetryWithSameKeyReplaysTheFirstResult() {
+    String first = store.execute(userId, "key-1", new Body("a", 1), this::run);
+    String second = store.execute(userId, "key-1", new Body("a", 1), this::run);
+
+    assertEquals("run-1", first);
+    assertEquals("run-1", second);
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void testKeysAreScopedPerUser() {
+    store.execute(userId, "key-1", new Body("a", 1), this::run);
+    String other = store.execute(UUID.randomUUID(), "key-1", new Body("a", 1), this::run);
+
+    assertEquals("run-2", other);
+  }
+
+  @Test
+  void testKeyReusedForAnotherRequestIsRejected() {
+    store.execute(userId, "key-1", new Body("a", 1), this::run);
+
+    IdempotencyException e =
+        assertThrows(
+            IdempotencyException.class,
+            () -> store.execute(userId, "key-1", new Body("a", 2), this::run));
+    assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, e.getErrorCode());
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void testFailedRunIsNotKeptSoARetryRunsAgain() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            store.execute(
+                userId,
+                "key-1",
+                new Body("a", 1),
+                () -> {
+                  throw new IllegalStateException("out of stock");
+                }));
+
+    assertEquals("run-1", store.execute(userId, "key-1", new Body("a", 1), this::run));
+  }
+
+  @Test
+  void testRunFailingWithAnErrorDoesNotBlockTheKey() {
+    assertThrows(
+        AssertionError.class,
+        () ->
+            store.execute(
+                userId,
+                "key-1",
+                new Body("a", 1),
+                () -> {
+                  throw new AssertionError("boom");
+                }));
+
+    assertEquals("run-1", store.execute(userId, "key-1", new Body("a", 1), this::run));
+  }
+
+  @Test
+  void testWithoutKeyTheActionAlwaysRuns() {
+    store.execute(userId, null, new Body("a", 1), this::run);
+    store.execute(userId, null, new Body("a", 1), this::run);
+
+    assertEquals(2, runs.get());
+  }
+
+  @Test
+  void testBlankKeyIsRejected() {
+    IdempotencyException e =
+        assertThrows(
+            IdempotencyException.class,
+            () -> store.execute(userId, " ", new Body("a", 1), this::run));
+    assertEquals(ErrorCode.BAD_REQUEST, e.getErrorCode());
+    assertEquals(0, runs.get());
+  }
+
+  @Test
+  void testDuplicateWaitsForTheRunInProgress() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<String> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                store.execute(
+                    userId,
+                    "key-1",
+                    new Body("a", 1),
+                    () -> {
+                      started.countDown();
+                      awaitQuietly(release);
+                      return run();
+                    }));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    CompletableFuture<String> duplicate =
+        CompletableFuture.supplyAsync(
+            () -> store.execute(userId, "key-1", new Body("a", 1), this::run));
+    release.countDown();
+
+    assertEquals("run-1", first.get(5, TimeUnit.SECONDS));
+    assertEquals("run-1", duplicate.get(5, TimeUnit.SECONDS));
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void testDuplicateGivesUpAfterTheWaitTimeout() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<String> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                store.execute(
+                    userId,
+                    "key-1",
+                    new Body("a", 1),
+                    () -> {
+                      started.countDown();
+                      awaitQuietly(release);
+                      return run();
+                    }));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    try {
+      IdempotencyException e =
+          assertThrows(
+              IdempotencyException.class,
+              () -> store.execute(userId, "key-1", new Body("a", 1), this::run));
+      assertEquals(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS, e.getErrorCode());
+    } finally {
+      release.countDown();
+    }
+    assertEquals("run-1", first.get(5, TimeUnit.SECONDS));
+  }
+
+  private String run() {
+    return "run-" + runs.incrementAndGet();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
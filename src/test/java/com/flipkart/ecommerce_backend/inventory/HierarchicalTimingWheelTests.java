@@ -0,0 +1,81 @@
+package com.flipkart.ecommerce_backend.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class HierarchicalTimingWheelTests {
+
+  @Test
+  void testItemIsHandedOutOnceItsTickHasPassed() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+    assertTrue(wheel.add("a", 25));
+
+    assertEquals(List.of(), wheel.advance(25));
+    assertEquals(List.of(), wheel.advance(29));
+    assertEquals(List.of("a"), wheel.advance(30));
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void testDeadlineBeyondTheSpanCascadesDownThroughOverflowWheels() {
+    // Span is 80 ms, so 1000 ms lands two overflow levels up
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+    assertTrue(wheel.add("far", 1000));
+
+    long firedAt = -1;
+    for (long now = 1; now <= 1100 && firedAt < 0; now++) {
+      if (!wheel.advance(now).isEmpty()) {
+        firedAt = now;
+      }
+    }
+    assertEquals(1010, firedAt);
+  }
+
+  @Test
+  void testPassedDeadlineIsRejected() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+    wheel.advance(100);
+
+    assertFalse(wheel.add("late", 99));
+    assertEquals(0, wheel.size());
+    // Still inside the current tick
+    assertTrue(wheel.add("now", 100));
+    assertEquals(List.of("now"), wheel.advance(110));
+  }
+
+  @Test
+  void testRandomDeadlinesAreNeverEarlyAndAtMostOneTickLate() {
+    long tickMs = 10;
+    long start = 1_700_000_123_456L;
+    HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(tickMs, 8, start);
+    Random random = new Random(42);
+    Map<Integer, Long> deadlines = new HashMap<>();
+    int nextId = 0;
+    int fired = 0;
+
+    for (long now = start; now < start + 20_000; now++) {
+      if (random.nextInt(4) == 0) {
+        long deadline = now + random.nextInt(random.nextBoolean() ? 200 : 10_000);
+        assertTrue(wheel.add(nextId, deadline));
+        deadlines.put(nextId++, deadline);
+      }
+      for (Integer id : wheel.advance(now)) {
+        long deadline = deadlines.remove(id);
+        // Handed out exactly when the clock reaches the end of the deadline's tick
+        assertEquals(Math.floorDiv(deadline, tickMs) * tickMs + tickMs, now);
+        assertTrue(now - deadline <= tickMs);
+        fired++;
+      }
+      assertEquals(deadlines.size(), wheel.size());
+    }
+
+    assertTrue(fired > 0);
+    long end = start + 20_000 - 1;
+    assertTrue(deadlines.values().stream().allMatch(deadline -> deadline + tickMs > end));
+  }
+}
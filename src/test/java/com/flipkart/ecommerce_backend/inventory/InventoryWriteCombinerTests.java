@@ -0,0 +1,183 @@
+package com.flipkart.ecommerce_backend.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.flipkart.ecommerce_backend.repository.ProductVariantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+public class InventoryWriteCombinerTests {
+  private final ProductVariantRepository repository = mock(ProductVariantRepository.class);
+  private final UUID variantId = UUID.randomUUID();
+  private InventoryWriteCombiner combiner;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (combiner != null) {
+      combiner.shutdown();
+    }
+  }
+
+  @Test
+  void testFullBatchIsAppliedAsOneDecrement() {
+    start(4, 200);
+    when(repository.decrementStock(eq(variantId), eq(10), any(Instant.class))).thenReturn(1);
+
+    List<CompletableFuture<Boolean>> results = reserveAll(1, 2, 3, 4);
+
+    results.forEach(result -> assertTrue(result.join()));
+    verify(repository).decrementStock(eq(variantId), eq(10), any(Instant.class));
+    verify(repository, never()).findQuantityForUpdate(any());
+  }
+
+  @Test
+  void testShortStockIsGrantedInArrivalOrderWhileItFits() {
+    start(3, 200);
+    when(repository.decrementStock(eq(variantId), eq(9), any(Instant.class))).thenReturn(0);
+    when(repository.findQuantityForUpdate(variantId)).thenReturn(Optional.of(6));
+    when(repository.decrementStock(eq(variantId), eq(6), any(Instant.class))).thenReturn(1);
+
+    List<CompletableFuture<Boolean>> results = reserveAll(4, 3, 2);
+
+    assertTrue(results.get(0).join());
+    assertFalse(results.get(1).join());
+    assertTrue(results.get(2).join());
+    verify(repository).decrementStock(eq(variantId), eq(6), any(Instant.class));
+  }
+
+  @Test
+  void testMissingVariantGrantsNothing() {
+    start(2, 200);
+    when(repository.decrementStock(eq(variantId), anyInt(), any(Instant.class))).thenReturn(0);
+    when(repository.findQuantityForUpdate(variantId)).thenReturn(Optional.empty());
+
+    List<CompletableFuture<Boolean>> results = reserveAll(1, 1);
+
+    results.forEach(result -> assertFalse(result.join()));
+    verify(repository, times(1)).decrementStock(eq(variantId), anyInt(), any(Instant.class));
+  }
+
+  @Test
+  void testPartialBatchIsFlushedAfterTheDelay() throws Exception {
+    start(100, 5);
+    when(repository.decrementStock(eq(variantId), eq(2), any(Instant.class))).thenReturn(1);
+
+    assertTrue(combiner.reserve(variantId, 2).get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testFailedBatchCompletesEveryRequestExceptionally() {
+    start(2, 200);
+    when(repository.decrementStock(eq(variantId), anyInt(), any(Instant.class)))
+        .thenThrow(new IllegalStateException("database down"));
+
+    List<CompletableFuture<Boolean>> results = reserveAll(1, 1);
+
+    for (CompletableFuture<Boolean> result : results) {
+      CompletionException e = assertThrows(CompletionException.class, result::join);
+      assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+  }
+
+  @Test
+  void testReserveAfterShutdownFailsInsteadOfHanging() throws Exception {
+    start(100, 200);
+    combiner.shutdown();
+
+    CompletableFuture<Boolean> result = combiner.reserve(variantId, 1);
+
+    assertTrue(result.isCompletedExceptionally());
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void testConcurrentReservationsNeverOversell() throws Exception {
+    start(32, 2);
+    AtomicInteger stock = new AtomicInteger(500);
+    AtomicInteger updates = new AtomicInteger();
+    when(repository.decrementStock(eq(variantId), anyInt(), any(Instant.class)))
+        .thenAnswer(
+            invocation -> {
+              updates.incrementAndGet();
+              int quantity = invocation.getArgument(1);
+              synchronized (stock) {
+                if (stock.get() < quantity) {
+                  return 0;
+                }
+                stock.addAndGet(-quantity);
+                return 1;
+              }
+            });
+    when(repository.findQuantityForUpdate(variantId))
+        .thenAnswer(invocation -> Optional.of(stock.get()));
+
+    ExecutorService callers = Executors.newFixedThreadPool(32);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      results.add(callers.submit(() -> combiner.reserve(variantId, 1).get(10, TimeUnit.SECONDS)));
+    }
+    int granted = 0;
+    for (Future<Boolean> result : results) {
+      if (result.get()) {
+        granted++;
+      }
+    }
+    callers.shutdown();
+
+    assertEquals(500, granted);
+    assertEquals(0, stock.get());
+    assertTrue(updates.get() < 2000, "decrements should be combined, got " + updates.get());
+  }
+
+  private void start(int maxBatchSize, long maxDelayMs) {
+    combiner =
+        new InventoryWriteCombiner(
+            repository, new NoOpTransactionManager(), new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(combiner, "maxBatchSize", maxBatchSize);
+    ReflectionTestUtils.setField(combiner, "maxDelayMs", maxDelayMs);
+    ReflectionTestUtils.setField(combiner, "threads", 2);
+    combiner.init();
+  }
+
+  private List<CompletableFuture<Boolean>> reserveAll(int... quantities) {
+    List<CompletableFuture<Boolean>> results = new ArrayList<>();
+    for (int quantity : quantities) {
+      results.add(combiner.reserve(variantId, quantity));
+    }
+    return results;
+  }
+
+  private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {}
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {}
+  }
+}
@@ -0,0 +1,105 @@
+package com.flipkart.ecommerce_backend.security.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+import com.flipkart.ecommerce_backend.models.LocalUser;
+import com.flipkart.ecommerce_backend.security.exception.TokenException;
+import com.flipkart.ecommerce_backend.security.principal.JwtPrincipal;
+import com.flipkart.ecommerce_backend.security.principal.JwtPrincipalFactory;
+import com.flipkart.ecommerce_backend.services.TokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JwtAuthenticationFilterTests {
+  private final TokenService tokenService = mock(TokenService.class);
+  private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+  private final JwtPrincipalFactory jwtPrincipalFactory = mock(JwtPrincipalFactory.class);
+  private final FilterChain filterChain = mock(FilterChain.class);
+  private final Claims claims = Jwts.claims().subject("alice").build();
+  private final LocalUser user = new LocalUser();
+  private final MockHttpServletRequest request = new MockHttpServletRequest();
+  private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+  @BeforeEach
+  void setUp() {
+    request.addHeader("Authorization", "Bearer access-token");
+    when(tokenService.extractClaims("access-token")).thenReturn(claims);
+    user.setUsername("alice");
+    when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void testStatelessPrincipalIsBuiltFromClaims() throws Exception {
+    JwtPrincipal principal = new JwtPrincipal(UUID.randomUUID(), "alice", List.of());
+    when(jwtPrincipalFactory.fromClaims(claims)).thenReturn(Optional.of(principal));
+
+    filter(true).doFilter(request, response, filterChain);
+
+    assertSame(principal, authentication().getPrincipal());
+    verifyNoInteractions(userDetailsService);
+    verify(filterChain).doFilter(request, response);
+  }
+
+  @Test
+  void testRevokedTokenIsNotAuthenticated() throws Exception {
+    when(jwtPrincipalFactory.fromClaims(claims))
+        .thenThrow(new TokenException(ErrorCode.TOKEN_INVALID, "JWT token has been revoked"));
+
+    filter(true).doFilter(request, response, filterChain);
+
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+    verifyNoInteractions(userDetailsService);
+    verify(filterChain).doFilter(request, response);
+  }
+
+  @Test
+  void testTokenWithoutVersionClaimsLoadsTheUser() throws Exception {
+    when(jwtPrincipalFactory.fromClaims(claims)).thenReturn(Optional.empty());
+
+    filter(true).doFilter(request, response, filterChain);
+
+    assertSame(user, authentication().getPrincipal());
+  }
+
+  @Test
+  void testWithoutStatelessPrincipalTheUserIsLoadedFromTheDatabase() throws Exception {
+    filter(false).doFilter(request, response, filterChain);
+
+    assertSame(user, authentication().getPrincipal());
+    verify(userDetailsService).loadUserByUsername("alice");
+    verifyNoInteractions(jwtPrincipalFactory);
+  }
+
+  private JwtAuthenticationFilter filter(boolean statelessPrincipal) {
+    JwtAuthenticationFilter filter =
+        new JwtAuthenticationFilter(tokenService, userDetailsService, jwtPrincipalFactory);
+    ReflectionTestUtils.setField(filter, "statelessPrincipal", statelessPrincipal);
+    return filter;
+  }
+
+  private static Authentication authentication() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    assertNotNull(authentication);
+    return authentication;
+  }
+}
@@ -0,0 +1,116 @@
+package com.flipkart.ecommerce_backend.security.principal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.flipkart.ecommerce_backend.events.UserChangedEvent;
+import com.flipkart.ecommerce_backend.models.LocalUser;
+import com.flipkart.ecommerce_backend.repository.LocalUserRepository;
+import com.flipkart.ecommerce_backend.security.exception.TokenException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JwtPrincipalFactoryTests {
+  private static final long TTL_MS = 50;
+
+  private final LocalUserRepository userRepository = mock(LocalUserRepository.class);
+  private final UUID userId = UUID.randomUUID();
+  private JwtPrincipalFactory factory;
+
+  @BeforeEach
+  void setUp() {
+    factory = new JwtPrincipalFactory(userRepository, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(factory, "ttlMs", TTL_MS);
+    ReflectionTestUtils.setField(factory, "maxSize", 100L);
+    factory.init();
+  }
+
+  @Test
+  void testPrincipalIsBuiltFromClaimsWithoutLoadingTheUser() {
+    state(new UserSecurityState(3, true, true));
+
+    JwtPrincipal principal = factory.fromClaims(claims(3)).orElseThrow();
+
+    assertEquals(userId, principal.getId());
+    assertEquals("alice", principal.getUsername());
+    assertEquals(
+        List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")),
+        principal.getAuthorities());
+    verify(userRepository, never()).findById(any());
+  }
+
+  @Test
+  void testStaleVersionIsRejectedOnceTheStateEntryExpires() throws InterruptedException {
+    LocalUser user = new LocalUser();
+    state(new UserSecurityState(user.getSecurityVersion(), true, true));
+    Claims issuedBefore = claims(user.getSecurityVersion());
+    assertTrue(factory.fromClaims(issuedBefore).isPresent());
+
+    // Revoked on another instance: nothing evicts this instance's entry
+    user.revokeAccessTokens();
+    state(new UserSecurityState(user.getSecurityVersion(), true, true));
+    assertTrue(factory.fromClaims(issuedBefore).isPresent());
+
+    Thread.sleep(TTL_MS * 3);
+    assertThrows(TokenException.class, () -> factory.fromClaims(issuedBefore));
+    assertTrue(factory.fromClaims(claims(user.getSecurityVersion())).isPresent());
+  }
+
+  @Test
+  void testDisabledUserIsRejectedOnceTheStateEntryExpires() throws InterruptedException {
+    state(new UserSecurityState(0, true, true));
+    assertTrue(factory.fromClaims(claims(0)).isPresent());
+
+    state(new UserSecurityState(0, false, true));
+    Thread.sleep(TTL_MS * 3);
+
+    assertThrows(TokenException.class, () -> factory.fromClaims(claims(0)));
+  }
+
+  @Test
+  void testLocalChangeTakesEffectImmediately() {
+    state(new UserSecurityState(0, true, true));
+    assertTrue(factory.fromClaims(claims(0)).isPresent());
+
+    state(new UserSecurityState(0, true, false));
+    factory.onUserChanged(new UserChangedEvent(userId));
+
+    assertThrows(TokenException.class, () -> factory.fromClaims(claims(0)));
+  }
+
+  @Test
+  void testDeletedUserIsRejected() {
+    when(userRepository.findSecurityStateById(userId)).thenReturn(Optional.empty());
+
+    assertThrows(TokenException.class, () -> factory.fromClaims(claims(0)));
+  }
+
+  @Test
+  void testTokenWithoutVersionClaimsFallsBackToLoadingTheUser() {
+    Claims legacy = Jwts.claims().subject("alice").build();
+
+    assertTrue(factory.fromClaims(legacy).isEmpty());
+    verifyNoInteractions(userRepository);
+  }
+
+  private void state(UserSecurityState state) {
+    when(userRepository.findSecurityStateById(userId)).thenReturn(Optional.of(state));
+  }
+
+  private Claims claims(int version) {
+    return Jwts.claims()
+        .subject("alice")
+        .add(JwtPrincipalFactory.USER_ID_CLAIM, userId.toString())
+        .add(JwtPrincipalFactory.VERSION_CLAIM, version)
+        .add(JwtPrincipalFactory.AUTHORITIES_CLAIM, "ROLE_USER,ROLE_ADMIN")
+        .build();
+  }
+}
@@ -0,0 +1,58 @@
+package com.flipkart.ecommerce_backend.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class RateLimitKeyExtractorTests {
+  private final RateLimitKeyExtractor extractor = new RateLimitKeyExtractor(new ObjectMapper());
+
+  @Test
+  void testTopLevelFieldIsExtracted() throws IOException {
+    assertEquals("alice", extract("{\"username\":\"alice\",\"password\":\"secret\"}"));
+  }
+
+  @Test
+  void testLastOccurrenceOfARepeatedFieldWins() throws IOException {
+    assertEquals("bob", extract("{\"username\":\"alice\",\"username\":\"bob\"}"));
+    assertNull(extract("{\"username\":\"alice\",\"username\":null}"));
+  }
+
+  @Test
+  void testNestedFieldsWithTheSameNameAreSkipped() throws IOException {
+    String body =
+        "{\"profile\":{\"username\":\"mallory\",\"tags\":[{\"username\":\"eve\"}]},"
+            + "\"username\":\"alice\",\"extra\":[\"username\"]}";
+
+    assertEquals("alice", extract(body));
+    assertNull(extract("{\"profile\":{\"username\":\"mallory\"}}"));
+  }
+
+  @Test
+  void testNonScalarOrNullValueGivesNull() throws IOException {
+    assertNull(extract("{\"username\":{\"first\":\"alice\"}}"));
+    assertNull(extract("{\"username\":[\"alice\"]}"));
+    assertNull(extract("{\"username\":null}"));
+  }
+
+  @Test
+  void testScalarValuesAreReturnedAsText() throws IOException {
+    assertEquals("42", extract("{\"username\":42}"));
+    assertEquals("true", extract("{\"username\":true}"));
+  }
+
+  @Test
+  void testBodyThatIsNotAJsonObjectGivesNull() throws IOException {
+    assertNull(extract("[\"alice\"]"));
+    assertNull(extract(""));
+    assertNull(extract("{\"username\":\"alice\""));
+    assertNull(extract("username=alice"));
+  }
+
+  private String extract(String body) throws IOException {
+    return extractor.extract(body.getBytes(StandardCharsets.UTF_8), "username");
+  }
+}
@@ -0,0 +1,231 @@
+package com.flipkart.ecommerce_backend.security.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.flipkart.ecommerce_backend.models.LocalUser;
+import com.flipkart.ecommerce_backend.models.RefreshToken;
+import com.flipkart.ecommerce_backend.repository.LocalUserRepository;
+import com.flipkart.ecommerce_backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+public class InMemoryTokenStoreTests {
+  private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+  private final LocalUserRepository localUserRepository = mock(LocalUserRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final LocalUser user = new LocalUser();
+  // Token values passed to saveAll, one list per call
+  private final List<List<String>> inserted = new CopyOnWriteArrayList<>();
+  private final List<String> deleted = new CopyOnWriteArrayList<>();
+  private InMemoryTokenStore store;
+
+  @BeforeEach
+  void setUp() {
+    user.setId(UUID.randomUUID());
+    when(localUserRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    when(localUserRepository.getReferenceById(user.getId())).thenReturn(user);
+    when(refreshTokenRepository.streamUnexpired(any())).thenReturn(Stream.empty());
+    doAnswer(
+            invocation -> {
+              List<String> values = new ArrayList<>();
+              for (RefreshToken token : invocation.<Iterable<RefreshToken>>getArgument(0)) {
+                values.add(token.getToken());
+              }
+              inserted.add(values);
+              return List.of();
+            })
+        .when(refreshTokenRepository)
+        .saveAll(any());
+    when(refreshTokenRepository.deleteByTokenIn(any()))
+        .thenAnswer(
+            invocation -> {
+              deleted.addAll(invocation.<Collection<String>>getArgument(0));
+              return 1;
+            });
+  }
+
+  @Test
+  void testIssuedTokenIsWrittenHashedOnFlush() {
+    start();
+    String token = store.createAndPersistRefreshToken(user).getToken();
+
+    assertEquals(token, store.findByToken(token).orElseThrow().getToken());
+    verifyNoInteractions(refreshTokenRepository);
+
+    store.flush();
+
+    assertEquals(List.of(List.of(RefreshTokenHasher.hash(token))), inserted);
+  }
+
+  @Test
+  void testConcurrentRotationOfOneTokenHasExactlyOneWinner() throws Exception {
+    start();
+    String token = store.createAndPersistRefreshToken(user).getToken();
+    int threads = 16;
+    ExecutorService callers = Executors.newFixedThreadPool(threads);
+    CountDownLatch go = new CountDownLatch(1);
+    List<Future<Optional<RefreshToken>>> results = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      results.add(
+          callers.submit(
+              () -> {
+                go.await();
+                return store.rotate(token, user);
+              }));
+    }
+    go.countDown();
+    int winners = 0;
+    for (Future<Optional<RefreshToken>> result : results) {
+      if (result.get().isPresent()) {
+        winners++;
+      }
+    }
+    callers.shutdown();
+
+    assertEquals(1, winners);
+    assertTrue(store.findByToken(token).isEmpty());
+  }
+
+  @Test
+  void testTokenRevokedBeforeItsFirstFlushIsNeverInserted() {
+    start();
+    String token = store.createAndPersistRefreshToken(user).getToken();
+    store.deleteToken(token);
+
+    store.flush();
+
+    assertTrue(inserted.isEmpty());
+  }
+
+  @Test
+  void testDeleteUserTokensWhileInsertsArePending() {
+    start();
+    String first = store.createAndPersistRefreshToken(user).getToken();
+    String second = store.createAndPersistRefreshToken(user).getToken();
+
+    store.deleteUserTokens(user);
+    store.flush();
+
+    verify(refreshTokenRepository).deleteByUserId(user.getId());
+    assertTrue(inserted.isEmpty());
+    assertTrue(store.findByToken(first).isEmpty());
+    assertTrue(store.findByToken(second).isEmpty());
+  }
+
+  @Test
+  void testTokenRevokedWhileBeingWrittenIsDeletedAgain() {
+    start();
+    String token = store.createAndPersistRefreshToken(user).getToken();
+    // The user's tokens are revoked after the insert batch was drained but before it commits
+    doAnswer(
+            invocation -> {
+              inserted.add(List.of("written"));
+              store.deleteUserTokens(user);
+              return List.of();
+            })
+        .when(refreshTokenRepository)
+        .saveAll(any());
+
+    store.flush();
+
+    assertEquals(1, inserted.size());
+    assertEquals(List.of(RefreshTokenHasher.hash(token)), deleted);
+  }
+
+  @Test
+  void testFailedFlushFallsBackToRowByRowWrites() {
+    start();
+    String good = store.createAndPersistRefreshToken(user).getToken();
+    String bad = store.createAndPersistRefreshToken(user).getToken();
+    doAnswer(
+            invocation -> {
+              List<String> values = new ArrayList<>();
+              for (RefreshToken token : invocation.<Iterable<RefreshToken>>getArgument(0)) {
+                values.add(token.getToken());
+              }
+              if (values.contains(RefreshTokenHasher.hash(bad))) {
+                throw new IllegalStateException("constraint violation");
+              }
+              inserted.add(values);
+              return List.of();
+            })
+        .when(refreshTokenRepository)
+        .saveAll(any());
+
+    store.flush();
+
+    // The batch failed, then each row was tried alone and only the bad one was dropped
+    verify(refreshTokenRepository, times(3)).saveAll(any());
+    assertEquals(List.of(List.of(RefreshTokenHasher.hash(good))), inserted);
+    assertEquals(1.0, meterRegistry.counter("refresh.tokens.flush.failures").count());
+  }
+
+  @Test
+  void testWarmUpIndexesHashedAndLegacyRawRows() {
+    String hashed = UUID.randomUUID().toString();
+    String legacy = UUID.randomUUID().toString();
+    Instant expiry = Instant.now().plusSeconds(3600);
+    when(refreshTokenRepository.streamUnexpired(any()))
+        .thenReturn(
+            Stream.of(
+                new StoredRefreshToken(RefreshTokenHasher.hash(hashed), user.getId(), expiry),
+                new StoredRefreshToken(legacy, user.getId(), expiry)));
+    start();
+
+    assertEquals(hashed, store.findByToken(hashed).orElseThrow().getToken());
+    assertEquals(legacy, store.findByToken(legacy).orElseThrow().getToken());
+
+    store.deleteToken(legacy);
+    store.flush();
+
+    // A legacy row is deleted by the raw value the table holds
+    assertEquals(List.of(legacy), deleted);
+  }
+
+  private void start() {
+    store =
+        new InMemoryTokenStore(
+            refreshTokenRepository,
+            localUserRepository,
+            new NoOpTransactionManager(),
+            meterRegistry);
+    ReflectionTestUtils.setField(store, "refreshTokenDurationMs", 3_600_000L);
+    ReflectionTestUtils.setField(store, "batchSize", 100);
+    store.init();
+    clearInvocations(refreshTokenRepository);
+  }
+
+  private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {}
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {}
+  }
+}
@@ -0,0 +1,225 @@
+package com.flipkart.ecommerce_backend.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.flipkart.ecommerce_backend.dtos.OrderDto;
+import com.flipkart.ecommerce_backend.dtos.OrderLineRequest;
+import com.flipkart.ecommerce_backend.dtos.PlaceOrderRequest;
+import com.flipkart.ecommerce_backend.exception.order.OrderException;
+import com.flipkart.ecommerce_backend.handler.ErrorCode;
+import com.flipkart.ecommerce_backend.inventory.InventoryWriteCombiner;
+import com.flipkart.ecommerce_backend.models.Address;
+import com.flipkart.ecommerce_backend.models.LocalUser;
+import com.flipkart.ecommerce_backend.models.Product;
+import com.flipkart.ecommerce_backend.models.ProductStatus;
+import com.flipkart.ecommerce_backend.models.ProductVariant;
+import com.flipkart.ecommerce_backend.models.WebOrder;
+import com.flipkart.ecommerce_backend.repository.AddressRepository;
+import com.flipkart.ecommerce_backend.repository.LocalUserRepository;
+import com.flipkart.ecommerce_backend.repository.ProductVariantRepository;
+import com.flipkart.ecommerce_backend.repository.StockReservationRepository;
+import com.flipkart.ecommerce_backend.repository.WebOrderRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+public class CheckoutServiceImplTests {
+  // UUID.compareTo puts LOW before HIGH, the reverse of their order in the requests below
+  private static final UUID LOW = UUID.fromString("90000000-0000-0000-0000-000000000001");
+  private static final UUID HIGH = UUID.fromString("10000000-0000-0000-0000-000000000002");
+
+  private final ProductVariantRepository productVariantRepository =
+      mock(ProductVariantRepository.class);
+  private final AddressRepository addressRepository = mock(AddressRepository.class);
+  private final LocalUserRepository localUserRepository = mock(LocalUserRepository.class);
+  private final WebOrderRepository webOrderRepository = mock(WebOrderRepository.class);
+  private final StockReservationRepository stockReservationRepository =
+      mock(StockReservationRepository.class);
+  private final InventoryWriteCombiner combiner = mock(InventoryWriteCombiner.class);
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+  private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+  private final UUID userId = UUID.randomUUID();
+  private final Address address = new Address();
+
+  @BeforeEach
+  void setUp() {
+    address.setId(UUID.randomUUID());
+    when(addressRepository.findByIdAndLocalUser_Id(address.getId(), userId))
+        .thenReturn(Optional.of(address));
+    when(localUserRepository.getReferenceById(userId)).thenReturn(new LocalUser());
+    when(productVariantRepository.findAllWithProductByIdIn(any()))
+        .thenReturn(
+            List.of(variant(LOW, ProductStatus.ACTIVE), variant(HIGH, ProductStatus.ACTIVE)));
+    when(productVariantRepository.decrementStock(any(), anyInt(), any())).thenReturn(1);
+    when(webOrderRepository.save(any()))
+        .thenAnswer(
+            invocation -> {
+              WebOrder order = invocation.getArgument(0);
+              order.setId(42L);
+              return order;
+            });
+  }
+
+  @Test
+  void testDuplicateLinesAreMergedIntoOneDecrement() {
+    OrderDto order = checkout(false).placeOrder(userId, request(line(LOW, 2), line(LOW, 3)));
+
+    verify(productVariantRepository).decrementStock(eq(LOW), eq(5), any(Instant.class));
+    assertEquals(1, order.items().size());
+    assertEquals(5, order.items().get(0).quantity().intValue());
+    assertEquals(new BigDecimal("50.00"), order.total());
+  }
+
+  @Test
+  void testStockIsTakenInVariantIdOrder() {
+    checkout(false).placeOrder(userId, request(line(HIGH, 1), line(LOW, 1)));
+
+    InOrder lockOrder = inOrder(productVariantRepository);
+    lockOrder.verify(productVariantRepository).decrementStock(eq(LOW), eq(1), any(Instant.class));
+    lockOrder.verify(productVariantRepository).decrementStock(eq(HIGH), eq(1), any(Instant.class));
+  }
+
+  @Test
+  void testShortLineRollsBackWithInsufficientStock() {
+    when(productVariantRepository.decrementStock(eq(HIGH), anyInt(), any())).thenReturn(0);
+
+    OrderException e =
+        assertThrows(
+            OrderException.class,
+            () -> checkout(false).placeOrder(userId, request(line(LOW, 1), line(HIGH, 1))));
+
+    assertEquals(ErrorCode.INSUFFICIENT_STOCK, e.getErrorCode());
+    assertEquals(1, transactionManager.rollbacks);
+    assertEquals(0, transactionManager.commits);
+    verify(webOrderRepository, never()).save(any());
+  }
+
+  @Test
+  void testMissingVariantIsUnavailable() {
+    UUID missing = UUID.randomUUID();
+
+    OrderException e =
+        assertThrows(
+            OrderException.class,
+            () -> checkout(false).placeOrder(userId, request(line(LOW, 1), line(missing, 1))));
+
+    assertEquals(ErrorCode.ORDER_ITEM_UNAVAILABLE, e.getErrorCode());
+    verify(productVariantRepository, never()).decrementStock(any(), anyInt(), any());
+  }
+
+  @Test
+  void testInactiveProductIsUnavailable() {
+    when(productVariantRepository.findAllWithProductByIdIn(any()))
+        .thenReturn(List.of(variant(LOW, ProductStatus.DRAFT)));
+
+    OrderException e =
+        assertThrows(
+            OrderException.class, () -> checkout(false).placeOrder(userId, request(line(LOW, 1))));
+
+    assertEquals(ErrorCode.ORDER_ITEM_UNAVAILABLE, e.getErrorCode());
+    verify(productVariantRepository, never()).decrementStock(any(), anyInt(), any());
+  }
+
+  @Test
+  void testCombinerGrantsAreGivenBackWhenAnotherLineIsShort() {
+    when(combiner.reserve(LOW, 2)).thenReturn(CompletableFuture.completedFuture(true));
+    when(combiner.reserve(HIGH, 1)).thenReturn(CompletableFuture.completedFuture(false));
+
+    OrderException e =
+        assertThrows(
+            OrderException.class,
+            () -> checkout(true).placeOrder(userId, request(line(LOW, 2), line(HIGH, 1))));
+
+    assertEquals(ErrorCode.INSUFFICIENT_STOCK, e.getErrorCode());
+    verify(productVariantRepository).incrementStock(eq(LOW), eq(2), any(Instant.class));
+    verify(productVariantRepository, never()).incrementStock(eq(HIGH), anyInt(), any());
+    verify(webOrderRepository, never()).save(any());
+  }
+
+  @Test
+  void testCombinerGrantsAreGivenBackWhenTheOrderCannotBeSaved() {
+    when(combiner.reserve(any(), anyInt())).thenReturn(CompletableFuture.completedFuture(true));
+    doThrow(new IllegalStateException("database down")).when(webOrderRepository).save(any());
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> checkout(true).placeOrder(userId, request(line(LOW, 2), line(HIGH, 1))));
+
+    verify(productVariantRepository).incrementStock(eq(LOW), eq(2), any(Instant.class));
+    verify(productVariantRepository).incrementStock(eq(HIGH), eq(1), any(Instant.class));
+    verify(productVariantRepository, never()).decrementStock(any(), anyInt(), any());
+  }
+
+  private CheckoutServiceImpl checkout(boolean withCombiner) {
+    CheckoutServiceImpl checkout =
+        new CheckoutServiceImpl(
+            productVariantRepository,
+            addressRepository,
+            localUserRepository,
+            webOrderRepository,
+            stockReservationRepository,
+            withCombiner ? Optional.of(combiner) : Optional.empty(),
+            transactionManager,
+            eventPublisher);
+    ReflectionTestUtils.setField(checkout, "reservationTtlMs", 900_000L);
+    return checkout;
+  }
+
+  private PlaceOrderRequest request(OrderLineRequest... lines) {
+    return new PlaceOrderRequest(address.getId(), new ArrayList<>(Arrays.asList(lines)));
+  }
+
+  private static OrderLineRequest line(UUID variantId, int quantity) {
+    return new OrderLineRequest(variantId, quantity);
+  }
+
+  private static ProductVariant variant(UUID id, ProductStatus status) {
+    Product product = new Product();
+    product.setId(UUID.randomUUID());
+    product.setName("Product " + id);
+    product.setStatus(status);
+    ProductVariant variant = new ProductVariant();
+    variant.setId(id);
+    variant.setProduct(product);
+    variant.setSku("SKU-" + id);
+    variant.setPrice(new BigDecimal("10.00"));
+    return variant;
+  }
+
+  private static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+    private int commits;
+    private int rollbacks;
+
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+      commits++;
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+      rollbacks++;
+    }
+  }
+}
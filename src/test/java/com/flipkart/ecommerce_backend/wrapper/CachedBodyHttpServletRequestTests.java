@@ -0,0 +1,61 @@
+package com.flipkart.ecommerce_backend.wrapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.ServletInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class CachedBodyHttpServletRequestTests {
+  private final byte[] body = "{\"username\":\"alice\"}".getBytes(StandardCharsets.UTF_8);
+  private final CachedBodyHttpServletRequest request =
+      new CachedBodyHttpServletRequest(new MockHttpServletRequest(), body);
+
+  @Test
+  void testBodyCanBeReadMoreThanOnce() throws IOException {
+    assertArrayEquals(body, request.getInputStream().readAllBytes());
+    assertArrayEquals(body, request.getInputStream().readAllBytes());
+    assertSame(body, request.getCachedBody());
+  }
+
+  @Test
+  void testBulkReadCopiesAtMostTheRemainingBytes() throws IOException {
+    ServletInputStream input = request.getInputStream();
+    byte[] buffer = new byte[body.length + 10];
+
+    assertEquals(5, input.read(buffer, 2, 5));
+    assertEquals("{\"use", new String(buffer, 2, 5, StandardCharsets.UTF_8));
+    assertEquals(body.length - 5, input.read(buffer, 0, buffer.length));
+    assertTrue(input.isFinished());
+    assertEquals(-1, input.read(buffer, 0, buffer.length));
+    assertEquals(0, input.read(buffer, 0, 0));
+  }
+
+  @Test
+  void testSkipIsBoundedByTheRemainingBytes() throws IOException {
+    ServletInputStream input = request.getInputStream();
+
+    assertEquals(0, input.skip(-1));
+    assertEquals(2, input.skip(2));
+    assertEquals('u', input.read());
+    assertEquals(body.length - 3, input.available());
+    assertEquals(body.length - 3, input.skip(Long.MAX_VALUE));
+    assertEquals(0, input.skip(1));
+    assertEquals(-1, input.read());
+  }
+
+  @Test
+  void testReaderUsesTheRequestCharset() throws IOException {
+    MockHttpServletRequest latin1 = new MockHttpServletRequest();
+    latin1.setCharacterEncoding("ISO-8859-1");
+    CachedBodyHttpServletRequest wrapped =
+        new CachedBodyHttpServletRequest(latin1, "café".getBytes(StandardCharsets.ISO_8859_1));
+
+    try (BufferedReader reader = wrapped.getReader()) {
+      assertEquals("café", reader.readLine());
+    }
+  }
+}